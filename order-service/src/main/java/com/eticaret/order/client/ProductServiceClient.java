@@ -1,9 +1,14 @@
 package com.eticaret.order.client;
 
+import com.eticaret.order.dto.ProductBatchRequestDTO;
 import com.eticaret.order.dto.ProductDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(
     name = "product-service", 
@@ -14,5 +19,11 @@ public interface ProductServiceClient {
     
     @GetMapping("/api/products/{id}")
     ProductDTO getProductById(@PathVariable String id);
+    
+    @GetMapping("/api/products")
+    List<ProductDTO> getAllProducts();
+    
+    @PostMapping("/api/products/batch")
+    List<ProductDTO> getProductsByIds(@RequestBody ProductBatchRequestDTO request);
 }
 
@@ -1,9 +1,12 @@
 package com.eticaret.order.client;
 
+import com.eticaret.order.dto.ProductBatchRequestDTO;
 import com.eticaret.order.dto.ProductDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class ProductServiceClientFallback implements ProductServiceClient {
@@ -13,5 +16,17 @@ public class ProductServiceClientFallback implements ProductServiceClient {
         log.error("Product Service çağrısı başarısız oldu - Fallback devreye girdi: productId={}", id);
         return null; // null döndür, Order Service'te kontrol edilecek
     }
+    
+    @Override
+    public List<ProductDTO> getAllProducts() {
+        log.error("Product Service ürün listesi çağrısı başarısız oldu - Fallback devreye girdi");
+        return null; // null döndür, ürün kopyası bir sonraki denemede yüklenecek
+    }
+    
+    @Override
+    public List<ProductDTO> getProductsByIds(ProductBatchRequestDTO request) {
+        log.error("Product Service toplu çağrısı başarısız oldu - Fallback devreye girdi: count={}", request.getIds().size());
+        return null; // null döndür, Order Service'te servis kullanılamıyor olarak ele alınacak
+    }
 }
 
@@ -1,10 +1,15 @@
 package com.eticaret.order.client;
 
 import com.eticaret.order.dto.StockDTO;
+import com.eticaret.order.dto.StockReleaseRequestDTO;
+import com.eticaret.order.dto.StockReleaseResponseDTO;
+import com.eticaret.order.dto.StockReservationRequestDTO;
+import com.eticaret.order.dto.StockReservationResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(
@@ -22,5 +27,11 @@ public interface StockServiceClient {
     
     @PostMapping("/api/stocks/{id}/release")
     StockDTO releaseStock(@PathVariable Long id, @RequestParam Integer quantity);
+    
+    @PostMapping("/api/stocks/reservations")
+    StockReservationResponseDTO reserveStocks(@RequestBody StockReservationRequestDTO request);
+    
+    @PostMapping("/api/stocks/reservations/release")
+    StockReleaseResponseDTO releaseStocks(@RequestBody StockReleaseRequestDTO request);
 }
 
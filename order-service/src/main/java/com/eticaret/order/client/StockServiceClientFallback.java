@@ -1,6 +1,10 @@
 package com.eticaret.order.client;
 
 import com.eticaret.order.dto.StockDTO;
+import com.eticaret.order.dto.StockReleaseRequestDTO;
+import com.eticaret.order.dto.StockReleaseResponseDTO;
+import com.eticaret.order.dto.StockReservationRequestDTO;
+import com.eticaret.order.dto.StockReservationResponseDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -27,5 +31,17 @@ public class StockServiceClientFallback implements StockServiceClient {
         // Çünkü bu işlem kritik değil (sipariş iptal durumunda)
         return null;
     }
+    
+    @Override
+    public StockReservationResponseDTO reserveStocks(StockReservationRequestDTO request) {
+        log.error("Stock Service çoklu rezerve çağrısı başarısız oldu - Fallback devreye girdi: items={}", request.getItems().size());
+        throw new RuntimeException("Stock Service kullanılamıyor - Stok rezerve edilemedi");
+    }
+    
+    @Override
+    public StockReleaseResponseDTO releaseStocks(StockReleaseRequestDTO request) {
+        log.error("Stock Service çoklu release çağrısı başarısız oldu - Fallback devreye girdi: releaseId={}, items={}", 
+                request.getReleaseId(), request.getItems().size());
+        return null; // null döndür, istek tekrar deneme kuyruğuna alınacak
+    }
 }
-
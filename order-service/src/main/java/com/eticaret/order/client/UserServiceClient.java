@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 @FeignClient(
     name = "user-service", 
     url = "${user.service.url:http://user-service:9011}",
+    // 404 hata değil null yanıt olarak döner; fallback yalnızca erişim hatalarında devreye girer
+    dismiss404 = true,
     fallback = UserServiceClientFallback.class
 )
 public interface UserServiceClient {
@@ -1,6 +1,7 @@
 package com.eticaret.order.client;
 
 import com.eticaret.order.dto.UserDTO;
+import com.eticaret.order.exception.ServiceUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -11,7 +12,8 @@ public class UserServiceClientFallback implements UserServiceClient {
     @Override
     public UserDTO getUserById(Long id) {
         log.error("User Service çağrısı başarısız oldu - Fallback devreye girdi: userId={}", id);
-        return null; // null döndür, Order Service'te kontrol edilecek
+        // null "kullanıcı yok" anlamına gelir (404); erişim hatası ayrıca bildirilir ve önbelleğe yazılmaz
+        throw new ServiceUnavailableException("User Service", "Kullanıcı doğrulanamadı");
     }
 }
 
@@ -0,0 +1,30 @@
+package com.eticaret.order.config;
+
+import feign.Capability;
+import feign.Client;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+
+// Feign istemcisini, hedef adına (@FeignClient name) göre seçilen bulkhead ile sarar.
+// Feign capability metodlarını reflection ile çağırdığından sınıf public olmalıdır.
+public class BulkheadCapability implements Capability {
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public BulkheadCapability(BulkheadRegistry bulkheadRegistry) {
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(request.requestTemplate().feignTarget().name());
+            bulkhead.acquirePermission();
+            try {
+                return client.execute(request, options);
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+}
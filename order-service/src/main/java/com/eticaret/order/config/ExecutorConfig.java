@@ -0,0 +1,30 @@
+package com.eticaret.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Sipariş doğrulama sırasında User/Product/Stock servislerine yapılan paralel çağrılar için sınırlı havuz
+    @Bean(name = "orderValidationExecutor")
+    public ThreadPoolTaskExecutor orderValidationExecutor(
+            @Value("${order.validation.executor.core-size:16}") int coreSize,
+            @Value("${order.validation.executor.max-size:64}") int maxSize,
+            @Value("${order.validation.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-validation-");
+        // Kuyruk dolarsa çağrı isteği işleyen thread üzerinde çalıştırılır (istek reddedilmez)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.eticaret.order.config;
+
+import feign.Capability;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Her Feign istemcisi (user-service, product-service, stock-service) kendi semafor bulkhead'i ile sınırlanır.
+// Yavaşlayan bir servis yalnızca kendi bulkhead'ini doldurur; fazla çağrılar maxWaitDuration kadar bekleyip
+// BulkheadFullException ile reddedilir, diğer servislere giden çağrılar ve istek thread'leri etkilenmez.
+// Sınırlar resilience4j.bulkhead.instances.<istemci-adı> ile verilir; circuit breaker ayarlarından bağımsızdır.
+@Configuration
+public class FeignBulkheadConfig {
+
+    @Bean
+    public Capability feignBulkheadCapability(BulkheadRegistry bulkheadRegistry) {
+        return new BulkheadCapability(bulkheadRegistry);
+    }
+}
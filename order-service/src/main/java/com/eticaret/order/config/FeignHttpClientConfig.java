@@ -0,0 +1,81 @@
+package com.eticaret.order.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// Feign istemcilerinin paylaştığı HttpClient 5 havuzu: hedef servis başına bağlantı sınırı, keep-alive ve havuz metrikleri
+@Slf4j
+@Configuration
+public class FeignHttpClientConfig {
+
+    // Sunucunun kapattığı bağlantı yeniden kullanılmasın diye keep-alive süresi sunucu zaman aşımından kısa tutulur
+    @Bean
+    public HttpClientBuilderCustomizer feignKeepAliveCustomizer(
+            @Value("${order.http-client.keep-alive-seconds:15}") long keepAliveSeconds,
+            @Value("${order.http-client.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        TimeValue keepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        return builder -> builder
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
+
+    // Havuz geneli: httpcomponents.httpclient.pool.* (leased/available/pending/max).
+    // Hedef başına: feign.pool.route.* {target}; leased/max oranı doygunluğu, pending bağlantı bekleyen istekleri gösterir.
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(
+            HttpClientConnectionManager connectionManager,
+            @Value("${user.service.url:http://user-service:9011}") String userServiceUrl,
+            @Value("${user.service.max-connections:50}") int userServiceMax,
+            @Value("${product.service.url:http://product-service:9012}") String productServiceUrl,
+            @Value("${product.service.max-connections:100}") int productServiceMax,
+            @Value("${stock.service.url:http://stock-service:9013}") String stockServiceUrl,
+            @Value("${stock.service.max-connections:100}") int stockServiceMax) {
+        if (!(connectionManager instanceof PoolingHttpClientConnectionManager pool)) {
+            log.warn("Feign bağlantı havuzu bulunamadı, havuz metrikleri kaydedilmeyecek: {}", connectionManager.getClass().getName());
+            return registry -> { };
+        }
+        Map<String, HttpRoute> routes = Map.of(
+                "user-service", route(pool, userServiceUrl, userServiceMax),
+                "product-service", route(pool, productServiceUrl, productServiceMax),
+                "stock-service", route(pool, stockServiceUrl, stockServiceMax));
+        MeterBinder poolMetrics = new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign");
+        return registry -> {
+            poolMetrics.bindTo(registry);
+            routes.forEach((target, route) -> {
+                routeGauge("feign.pool.route.leased", target, pool, route, PoolStats::getLeased).register(registry);
+                routeGauge("feign.pool.route.pending", target, pool, route, PoolStats::getPending).register(registry);
+                routeGauge("feign.pool.route.max", target, pool, route, PoolStats::getMax).register(registry);
+            });
+        };
+    }
+
+    private static HttpRoute route(PoolingHttpClientConnectionManager pool, String url, int maxConnections) {
+        HttpRoute route = new HttpRoute(HttpHost.create(URI.create(url)));
+        pool.setMaxPerRoute(route, maxConnections);
+        log.info("Feign bağlantı havuzu sınırı: target={}, maxConnections={}", url, maxConnections);
+        return route;
+    }
+
+    private static Gauge.Builder<PoolingHttpClientConnectionManager> routeGauge(
+            String name, String target, PoolingHttpClientConnectionManager pool, HttpRoute route,
+            ToDoubleFunction<PoolStats> stat) {
+        return Gauge.builder(name, pool, p -> stat.applyAsDouble(p.getStats(route)))
+                .tag("target", target);
+    }
+}
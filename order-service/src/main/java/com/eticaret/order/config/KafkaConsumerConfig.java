@@ -0,0 +1,59 @@
+package com.eticaret.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.converter.BatchMessagingMessageConverter;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    // Mesajlar byte[] olarak okunur ve listener parametresinin tipine (olay record'u) göre JSON'dan çevrilir;
+    // tip başlıklarına ve trusted.packages ayarına gerek kalmaz. Spring Boot varsayılan factory'ye otomatik bağlar.
+    @Bean
+    public RecordMessageConverter kafkaMessageConverter() {
+        return new ByteArrayJsonMessageConverter();
+    }
+
+    // payment-completed için toplu (batch) listener; her poll'daki kayıtlar tek seferde işlenir.
+    // Concurrency topic'in partition sayısına eşit tutulmalıdır (fazlası boşta bekler).
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentBatchListenerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            RecordMessageConverter kafkaMessageConverter,
+            @Value("${order.payment.listener.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setBatchMessageConverter(new BatchMessagingMessageConverter(kafkaMessageConverter));
+        factory.setConcurrency(concurrency);
+        // Offset'ler batch başarıyla işlendikten sonra commit edilir
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    // Analitik listener'ları: varsayılan factory ayarlarıyla kurulur; hata olursa kayıt artan beklemeyle tekrar denenir
+    // (offset ilerlemez). Denemeler tükenirse kayıt loglanıp atlanır; kaçan olaylar analitik backfill ile düzeltilir.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> analyticsListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${order.analytics.retry.max-attempts:8}") int maxAttempts) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(Math.max(0, maxAttempts - 1));
+        backOff.setInitialInterval(500);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(30_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
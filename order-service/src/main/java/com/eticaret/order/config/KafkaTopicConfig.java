@@ -0,0 +1,33 @@
+package com.eticaret.order.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+// Order Service'in yayınladığı topic'ler; partition sayısı consumer concurrency'sinin üst sınırıdır
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${order.kafka.topics.partitions:6}")
+    private int partitions;
+
+    @Value("${order.kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic orderCreatedTopic() {
+        return TopicBuilder.name("order-created").partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic orderStatusUpdatedTopic() {
+        return TopicBuilder.name("order-status-updated").partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic orderCancelledTopic() {
+        return TopicBuilder.name("order-cancelled").partitions(partitions).replicas(replicas).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.eticaret.order.config;
+
+import com.eticaret.order.model.IdempotencyRecord;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderIntake;
+import com.eticaret.order.model.OutboxEvent;
+import com.eticaret.order.model.ProductSales;
+import com.eticaret.order.model.StockReleaseRetry;
+import com.mongodb.client.model.CreateCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.eticaret.order.repository.ArchiveAwareOrderRepositoryImpl.ARCHIVE_COLLECTION;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            // Sipariş listeleri (createdAt, id) azalan sırada keyset sayfalama ile okunur
+            mongoTemplate.indexOps(Order.class)
+                    .ensureIndex(new Index()
+                            .on("userId", Sort.Direction.ASC)
+                            .on("createdAt", Sort.Direction.DESC)
+                            .on("_id", Sort.Direction.DESC)
+                            .named("userId_createdAt_id"));
+            mongoTemplate.indexOps(Order.class)
+                    .ensureIndex(new Index()
+                            .on("createdAt", Sort.Direction.DESC)
+                            .on("_id", Sort.Direction.DESC)
+                            .named("createdAt_id"));
+            // Olayı yazılamayan toplu geçişler işaret zamanına göre taranır; yalnızca işaretli siparişler indekslenir
+            mongoTemplate.indexOps(Order.class)
+                    .ensureIndex(new Index().on("pendingTransitions.at", Sort.Direction.ASC)
+                            .sparse()
+                            .named("pendingTransitions_at"));
+            // Arşiv koleksiyonu seyrek okunur; daha yüksek oranla sıkıştırmak için zstd ile oluşturulur
+            if (!mongoTemplate.collectionExists(ARCHIVE_COLLECTION)) {
+                mongoTemplate.getDb().createCollection(ARCHIVE_COLLECTION, new CreateCollectionOptions()
+                        .storageEngineOptions(new Document("wiredTiger",
+                                new Document("configString", "block_compressor=zstd"))));
+            }
+            mongoTemplate.indexOps(ARCHIVE_COLLECTION)
+                    .ensureIndex(new Index()
+                            .on("userId", Sort.Direction.ASC)
+                            .on("createdAt", Sort.Direction.DESC)
+                            .on("_id", Sort.Direction.DESC)
+                            .named("userId_createdAt_id"));
+            mongoTemplate.indexOps(ARCHIVE_COLLECTION)
+                    .ensureIndex(new Index()
+                            .on("createdAt", Sort.Direction.DESC)
+                            .on("_id", Sort.Direction.DESC)
+                            .named("createdAt_id"));
+            // Asenkron sipariş alım kayıtları bir gün sonra silinir
+            mongoTemplate.indexOps(OrderIntake.class)
+                    .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC)
+                            .expire(Duration.ofDays(1))
+                            .named("createdAt_ttl"));
+            // Idempotency kayıtları expiresAt anında silinir
+            mongoTemplate.indexOps(IdempotencyRecord.class)
+                    .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC)
+                            .expire(Duration.ZERO)
+                            .named("expiresAt_ttl"));
+            // Ertelenen stok serbest bırakmaları deneme zamanına göre taranır
+            mongoTemplate.indexOps(StockReleaseRetry.class)
+                    .ensureIndex(new Index().on("nextAttemptAt", Sort.Direction.ASC).named("nextAttemptAt_asc"));
+            // Outbox relay en eski olaylardan başlayarak okur
+            mongoTemplate.indexOps(OutboxEvent.class)
+                    .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).named("createdAt_asc"));
+            // En çok satan ürünler ciroya göre sıralanarak okunur
+            mongoTemplate.indexOps(ProductSales.class)
+                    .ensureIndex(new Index().on("revenueMinor", Sort.Direction.DESC).named("revenueMinor_desc"));
+            log.info("MongoDB index'leri oluşturuldu");
+        } catch (Exception e) {
+            log.error("MongoDB index'leri oluşturulamadı: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.eticaret.order.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+// Sipariş ve outbox kaydının aynı transaction'da yazılması için (MongoDB replica set gerektirir)
+@Configuration
+@ConditionalOnProperty(name = "order.outbox.transactional", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,50 @@
+package com.eticaret.order.config;
+
+import com.eticaret.order.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Sipariş oluşturma için uyarlanabilir eşzamanlılık sınırı. Okuma endpoint'leri sınırlanmaz;
+// max-limit Tomcat thread sayısının altında tutulduğunda GET istekleri için her zaman thread kalır.
+@Configuration
+@ConditionalOnProperty(value = "order.create-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCreationLimitConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+
+    public OrderCreationLimitConfig(MeterRegistry meterRegistry,
+                                    @Value("${order.create-limit.initial-limit:20}") int initialLimit,
+                                    @Value("${order.create-limit.min-limit:4}") int minLimit,
+                                    @Value("${order.create-limit.max-limit:100}") int maxLimit,
+                                    @Value("${order.create-limit.smoothing:0.2}") double smoothing,
+                                    @Value("${order.create-limit.tolerance:1.5}") double tolerance,
+                                    @Value("${order.create-limit.backoff-ratio:0.9}") double backoffRatio,
+                                    @Value("${order.create-limit.long-window:600}") int longWindow,
+                                    @Value("${order.create-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                smoothing, tolerance, backoffRatio, longWindow);
+        Gauge.builder("order.create.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Sipariş oluşturma için güncel eşzamanlılık sınırı")
+                .register(meterRegistry);
+        Gauge.builder("order.create.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("İşlenmekte olan sipariş oluşturma istekleri")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Yalnızca POST /api/orders; uzun süren toplu içe aktarma (/bulk) kendi parça boyutuyla sınırlıdır
+        registry.addInterceptor(new OrderCreationLimitInterceptor(limiter,
+                        meterRegistry.counter("order.create.rejected"), retryAfterSeconds))
+                .addPathPatterns("/api/orders");
+    }
+}
@@ -0,0 +1,52 @@
+package com.eticaret.order.config;
+
+import com.eticaret.order.exception.ServerOverloadedException;
+import com.eticaret.order.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// POST /api/orders isteklerini uyarlanabilir eşzamanlılık sınırından geçirir. Sınır doluysa istek işlenmeden
+// 503 + Retry-After ile reddedilir; böylece yavaşlayan bağımlı servisler Tomcat thread'lerinin tamamını tüketmez.
+public class OrderCreationLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = OrderCreationLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejectedCounter;
+    private final long retryAfterSeconds;
+
+    public OrderCreationLimitInterceptor(AdaptiveConcurrencyLimiter limiter, Counter rejectedCounter, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.rejectedCounter = rejectedCounter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new ServerOverloadedException(
+                    "Sipariş oluşturma kapasitesi dolu, lütfen daha sonra tekrar deneyin", retryAfterSeconds);
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        // 503/504: bağımlı servis zaman aşımı veya kuyruk dolu; sınır azaltılır
+        int status = response.getStatus();
+        boolean overloaded = status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        limiter.release(System.nanoTime() - (long) start, overloaded);
+    }
+}
@@ -0,0 +1,24 @@
+package com.eticaret.order.config;
+
+import com.eticaret.order.dto.ProductDTO;
+import com.eticaret.order.dto.StockDTO;
+import com.eticaret.order.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    // Yerel kopyada olmayan ürünler için Product Service sorguları (productId → ürün)
+    @Bean(name = "productLookupFlight")
+    public SingleFlight<String, ProductDTO> productLookupFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("product-lookup", meterRegistry);
+    }
+
+    // Stok kaydı sorguları (productId → stok)
+    @Bean(name = "stockLookupFlight")
+    public SingleFlight<String, StockDTO> stockLookupFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("stock-lookup", meterRegistry);
+    }
+}
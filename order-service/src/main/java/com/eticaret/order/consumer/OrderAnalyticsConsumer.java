@@ -0,0 +1,46 @@
+package com.eticaret.order.consumer;
+
+import com.eticaret.order.event.OrderCreatedEvent;
+import com.eticaret.order.event.OrderStatusChangedEvent;
+import com.eticaret.order.service.OrderAnalyticsProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+// Sipariş yaşam döngüsü olaylarını analitik görünümlere uygular.
+// Tüm replikalar aynı consumer group'u kullanır; her olay yalnızca bir kez işlenir. Hatalar yutulmaz:
+// analyticsListenerFactory olayı artan beklemeyle tekrar dener, denemeler tükenirse olay loglanıp atlanır
+// (kaçan olaylar analitik backfill ile düzeltilir).
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderAnalyticsConsumer {
+
+    private final OrderAnalyticsProjector orderAnalyticsProjector;
+
+    @KafkaListener(topics = "order-created", groupId = "order-analytics",
+            containerFactory = "analyticsListenerFactory",
+            concurrency = "${order.kafka.listener.concurrency:3}")
+    public void consumeOrderCreated(@Payload OrderCreatedEvent event) {
+        if (event != null && event.orderId() != null) {
+            orderAnalyticsProjector.recordCreated(event);
+        }
+    }
+
+    // İki topic arasında sıra yoktur; projektör olayın occurredAt değerini son uygulanan olayla karşılaştırır
+    @KafkaListener(topics = {"order-status-updated", "order-cancelled"}, groupId = "order-analytics",
+            containerFactory = "analyticsListenerFactory",
+            concurrency = "${order.kafka.listener.concurrency:3}")
+    public void consumeStatusChanged(
+            @Payload OrderStatusChangedEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        if (event != null && event.orderId() != null && event.status() != null) {
+            log.debug("Durum olayı analitiğe işleniyor: topic={}, orderId={}", topic, event.orderId());
+            orderAnalyticsProjector.recordStatusChange(event);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.eticaret.order.consumer;
+
+import com.eticaret.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+// Diğer replikalarda değişen siparişleri yerel önbellekten çıkarır.
+// Her instance kendi consumer group'u ile dinler, böylece olayı tüm replikalar alır.
+// Silme olayların sırasına bağlı değildir; occurredAt kullanılmaz.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCacheInvalidationConsumer {
+
+    private final CacheManager cacheManager;
+
+    @KafkaListener(
+            topics = {"order-status-updated", "order-cancelled"},
+            groupId = "order-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=true"})
+    public void evictOrder(
+            @Payload OrderStatusChangedEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        try {
+            Cache cache = cacheManager.getCache("orders");
+            if (cache != null && event != null && event.orderId() != null) {
+                cache.evict(event.orderId());
+                log.debug("Sipariş önbellekten çıkarıldı: orderId={}, topic={}", event.orderId(), topic);
+            }
+        } catch (Exception e) {
+            log.error("Sipariş önbellekten çıkarılamadı: topic={}, error={}", topic, e.getMessage(), e);
+        }
+    }
+}
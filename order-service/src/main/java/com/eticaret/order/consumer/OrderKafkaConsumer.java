@@ -1,6 +1,9 @@
 package com.eticaret.order.consumer;
 
-import com.eticaret.order.model.Order;
+import com.eticaret.order.event.OrderCreatedEvent;
+import com.eticaret.order.event.OrderStatusChangedEvent;
+import com.eticaret.order.event.PaymentCompletedEvent;
+import com.eticaret.order.exception.OrderStatusTransitionException;
 import com.eticaret.order.service.IOrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +14,9 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Component
@@ -20,83 +25,119 @@ public class OrderKafkaConsumer {
     
     private final IOrderService orderService;
     
-    @KafkaListener(topics = "order-created", groupId = "order-service-group-v2")
+    @KafkaListener(topics = "order-created", groupId = "order-service-group-v2",
+            concurrency = "${order.kafka.listener.concurrency:3}")
     public void consumeOrderCreated(
-            @Payload Order order,
+            @Payload OrderCreatedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
             @Header(KafkaHeaders.OFFSET) long offset) {
         try {
             log.info("--- [DEBUG] KAFKA MESSAGE RECEIVED V2 ---");
             log.info("Kafka mesajı alındı - Topic: {}, Partition: {}, Offset: {}", topic, partition, offset);
-            log.info("Yeni sipariş oluşturuldu - OrderId: {}, UserId: {}, TotalAmount: {}, Status: {}", 
-                    order.getId(), order.getUserId(), order.getTotalAmount(), order.getStatus());
+            log.info("Yeni sipariş oluşturuldu - OrderId: {}, UserId: {}, TotalAmount: {}, Status: {}, Items: {}", 
+                    event.orderId(), event.userId(), event.totalAmount(), event.status(),
+                    event.items() != null ? event.items().size() : 0);
             
-            log.info("Sipariş oluşturma mesajı başarıyla işlendi - OrderId: {}", order.getId());
+            log.info("Sipariş oluşturma mesajı başarıyla işlendi - OrderId: {}", event.orderId());
             
         } catch (Exception e) {
             log.error("Sipariş oluşturma mesajı işlenirken hata: OrderId={}, Error={}", 
-                    order != null ? order.getId() : "unknown", e.getMessage(), e);
+                    event != null ? event.orderId() : "unknown", e.getMessage(), e);
         }
     }
     
-    @KafkaListener(topics = "order-status-updated", groupId = "order-service-group")
+    @KafkaListener(topics = "order-status-updated", groupId = "order-service-group",
+            concurrency = "${order.kafka.listener.concurrency:3}")
     public void consumeOrderStatusUpdated(
-            @Payload Order order,
+            @Payload OrderStatusChangedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
             @Header(KafkaHeaders.OFFSET) long offset) {
         try {
             log.info("Kafka mesajı alındı - Topic: {}, Partition: {}, Offset: {}", topic, partition, offset);
             log.info("Sipariş durumu güncellendi - OrderId: {}, UserId: {}, NewStatus: {}", 
-                    order.getId(), order.getUserId(), order.getStatus());
+                    event.orderId(), event.userId(), event.status());
             
-            log.info("Sipariş durum güncelleme mesajı başarıyla işlendi - OrderId: {}", order.getId());
+            log.info("Sipariş durum güncelleme mesajı başarıyla işlendi - OrderId: {}", event.orderId());
             
         } catch (Exception e) {
             log.error("Sipariş durum güncelleme mesajı işlenirken hata: OrderId={}, Error={}", 
-                    order != null ? order.getId() : "unknown", e.getMessage(), e);
+                    event != null ? event.orderId() : "unknown", e.getMessage(), e);
         }
     }
     
-    @KafkaListener(topics = "order-cancelled", groupId = "order-service-group")
+    @KafkaListener(topics = "order-cancelled", groupId = "order-service-group",
+            concurrency = "${order.kafka.listener.concurrency:3}")
     public void consumeOrderCancelled(
-            @Payload Order order,
+            @Payload OrderStatusChangedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
             @Header(KafkaHeaders.OFFSET) long offset) {
         try {
             log.info("Kafka mesajı alındı - Topic: {}, Partition: {}, Offset: {}", topic, partition, offset);
             log.info("Sipariş iptal edildi - OrderId: {}, UserId: {}, Status: {}", 
-                    order.getId(), order.getUserId(), order.getStatus());
+                    event.orderId(), event.userId(), event.status());
             
-            log.info("Sipariş iptal mesajı başarıyla işlendi - OrderId: {}", order.getId());
+            log.info("Sipariş iptal mesajı başarıyla işlendi - OrderId: {}", event.orderId());
             
         } catch (Exception e) {
             log.error("Sipariş iptal mesajı işlenirken hata: OrderId={}, Error={}", 
-                    order != null ? order.getId() : "unknown", e.getMessage(), e);
+                    event != null ? event.orderId() : "unknown", e.getMessage(), e);
         }
     }
 
-    @KafkaListener(topics = "payment-completed", groupId = "order-service-group")
+    @KafkaListener(topics = "payment-completed", groupId = "order-service-group",
+            concurrency = "${order.payment.listener.concurrency:3}",
+            autoStartup = "#{!${order.payment.listener.batch:true}}")
     public void consumePaymentCompleted(
-            @Payload Map<String, Object> paymentData,
+            @Payload PaymentCompletedEvent payment,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         try {
             log.info("Kafka mesajı alındı - Topic: {}", topic);
-            Long orderId = Long.valueOf(paymentData.get("orderId").toString());
-            String status = paymentData.get("status").toString();
+            Long orderId = payment.orderId();
             
-            if ("SUCCESS".equals(status)) {
+            if (payment.isSuccess()) {
                 log.info("Ödeme başarılı. Sipariş durumu PAID olarak güncelleniyor - OrderId: {}", orderId);
                 orderService.updateOrderStatus(orderId, "PAID");
             } else {
                 log.warn("Ödeme başarısız - OrderId: {}", orderId);
             }
             
+        } catch (OrderStatusTransitionException e) {
+            // Tekrar gelen ödeme mesajı ya da iptal edilmiş sipariş
+            log.warn("Ödeme mesajı uygulanmadı: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Ödeme mesajı işlenirken hata: {}", e.getMessage(), e);
         }
     }
-}
 
+    // Toplu mod: poll başına gelen ödemeler orderId'ye göre tekilleştirilir ve tek güncellemeyle PAID yapılır.
+    // Hata durumunda batch commit edilmez ve tekrar işlenir; durum koşulu tekrarları zararsız kılar.
+    @KafkaListener(topics = "payment-completed", groupId = "order-service-group",
+            containerFactory = "paymentBatchListenerFactory",
+            autoStartup = "${order.payment.listener.batch:true}",
+            properties = {"enable.auto.commit=false", "max.poll.records=${order.payment.listener.max-poll-records:500}"})
+    public void consumePaymentCompletedBatch(List<PaymentCompletedEvent> payments) {
+        Set<Long> paidOrderIds = new LinkedHashSet<>();
+        int failedPayments = 0;
+        for (PaymentCompletedEvent payment : payments) {
+            if (payment == null || payment.orderId() == null) {
+                log.error("Ödeme mesajı okunamadı, atlanıyor: payload={}", payment);
+                continue;
+            }
+            if (payment.isSuccess()) {
+                paidOrderIds.add(payment.orderId());
+            } else {
+                failedPayments++;
+                log.warn("Ödeme başarısız - OrderId: {}", payment.orderId());
+            }
+        }
+        
+        log.info("Ödeme mesajları alındı - Records: {}, PaidOrders: {}, FailedPayments: {}", 
+                payments.size(), paidOrderIds.size(), failedPayments);
+        if (!paidOrderIds.isEmpty()) {
+            orderService.markOrdersPaid(paidOrderIds);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.eticaret.order.consumer;
+
+import com.eticaret.order.event.ProductChangedEvent;
+import com.eticaret.order.service.ProductCatalogReplica;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+// Yerel ürün kopyasını product-changed olaylarıyla günceller. Her instance kendi consumer group'u ile dinler;
+// topic compact olduğundan baştan okumak her ürünün son halini verir.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogConsumer {
+
+    private final ProductCatalogReplica productCatalogReplica;
+
+    @KafkaListener(
+            topics = "product-changed",
+            groupId = "order-catalog-#{T(java.util.UUID).randomUUID()}",
+            autoStartup = "${order.product-replica.enabled:true}",
+            properties = {"auto.offset.reset=earliest", "enable.auto.commit=true"})
+    public void consumeProductChanged(@Payload ProductChangedEvent event) {
+        try {
+            productCatalogReplica.apply(event);
+        } catch (Exception e) {
+            log.error("product-changed olayı işlenemedi: productId={}, error={}", 
+                    event != null ? event.productId() : "unknown", e.getMessage(), e);
+        }
+    }
+}
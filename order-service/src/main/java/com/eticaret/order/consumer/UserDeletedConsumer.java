@@ -0,0 +1,33 @@
+package com.eticaret.order.consumer;
+
+import com.eticaret.order.event.UserDeletedEvent;
+import com.eticaret.order.service.UserExistenceCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+// Silinen kullanıcıyı kullanıcı doğrulama önbelleğinden çıkarır; olayı tüm replikalar alır
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDeletedConsumer {
+
+    private final UserExistenceCache userExistenceCache;
+
+    @KafkaListener(
+            topics = "user-deleted",
+            groupId = "order-users-#{T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=true"})
+    public void consumeUserDeleted(@Payload UserDeletedEvent event) {
+        try {
+            if (event != null && event.userId() != null) {
+                userExistenceCache.invalidate(event.userId());
+                log.info("Silinen kullanıcı önbellekten çıkarıldı: userId={}", event.userId());
+            }
+        } catch (Exception e) {
+            log.error("user-deleted olayı işlenemedi: error={}", e.getMessage(), e);
+        }
+    }
+}
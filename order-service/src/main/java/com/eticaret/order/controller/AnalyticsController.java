@@ -0,0 +1,113 @@
+package com.eticaret.order.controller;
+
+import com.eticaret.order.dto.AnalyticsBackfillDTO;
+import com.eticaret.order.dto.DailySalesDTO;
+import com.eticaret.order.dto.ProductSalesDTO;
+import com.eticaret.order.dto.StatusSalesDTO;
+import com.eticaret.order.mapper.AnalyticsMapper;
+import com.eticaret.order.service.IAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/orders/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Order Analytics", description = "Satış raporları - Günlük, durum ve ürün bazında ciro ve sipariş sayıları (önceden toplanmış görünümlerden)")
+public class AnalyticsController {
+
+    private final IAnalyticsService analyticsService;
+    private final AnalyticsMapper analyticsMapper;
+
+    @Operation(summary = "Günlük satışları getir", description = "Verilen tarih aralığındaki her gün için sipariş sayısı, ciro ve iptal edilen siparişleri döner. Varsayılan aralık son 30 gündür; en fazla 366 gün döner.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Günlük satışlar başarıyla getirildi")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesDTO>> getDailySales(
+            @Parameter(description = "Başlangıç günü (dahil)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Bitiş günü (dahil)", example = "2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /orders/analytics/daily - Günlük satışlar isteği alındı: from={}, to={}", from, to);
+        try {
+            List<DailySalesDTO> days = analyticsService.getDailySales(from, to).stream()
+                    .map(analyticsMapper::toDailyDTO)
+                    .collect(Collectors.toList());
+            log.info("GET /orders/analytics/daily - {} gün getirildi", days.size());
+            return ResponseEntity.ok(days);
+        } catch (Exception e) {
+            log.error("GET /orders/analytics/daily - Günlük satışlar getirilirken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Operation(summary = "Durum bazında satışları getir", description = "Şu an her durumda bulunan sipariş sayısını ve toplam tutarını döner.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Durum bazında satışlar başarıyla getirildi")
+    })
+    @GetMapping("/status")
+    public ResponseEntity<List<StatusSalesDTO>> getStatusSales() {
+        log.info("GET /orders/analytics/status - Durum bazında satışlar isteği alındı");
+        try {
+            List<StatusSalesDTO> statuses = analyticsService.getStatusSales().stream()
+                    .map(analyticsMapper::toStatusDTO)
+                    .collect(Collectors.toList());
+            log.info("GET /orders/analytics/status - {} durum getirildi", statuses.size());
+            return ResponseEntity.ok(statuses);
+        } catch (Exception e) {
+            log.error("GET /orders/analytics/status - Durum bazında satışlar getirilirken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Operation(summary = "En çok satan ürünleri getir", description = "Ürünleri toplam ciroya göre azalan sırada döner (en fazla 100).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ürün satışları başarıyla getirildi")
+    })
+    @GetMapping("/products")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(
+            @Parameter(description = "Dönülecek ürün sayısı (en fazla 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /orders/analytics/products - Ürün satışları isteği alındı: limit={}", limit);
+        try {
+            List<ProductSalesDTO> products = analyticsService.getTopProducts(limit).stream()
+                    .map(analyticsMapper::toProductDTO)
+                    .collect(Collectors.toList());
+            log.info("GET /orders/analytics/products - {} ürün getirildi", products.size());
+            return ResponseEntity.ok(products);
+        } catch (Exception e) {
+            log.error("GET /orders/analytics/products - Ürün satışları getirilirken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Operation(summary = "Analitik görünümleri yeniden oluştur", description = "Tüm görünümleri orders koleksiyonundan MongoDB aggregation pipeline ile yeniden hesaplar. İlk kurulumda ve olaylarla güncellenen sayaçlarda sapma olduğunda çalıştırılır.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Görünümler yeniden oluşturuldu")
+    })
+    @PostMapping("/backfill")
+    public ResponseEntity<AnalyticsBackfillDTO> rebuildViews() {
+        log.info("POST /orders/analytics/backfill - Analitik görünümleri yeniden oluşturma isteği alındı");
+        try {
+            AnalyticsBackfillDTO result = analyticsMapper.toBackfillDTO(analyticsService.rebuildViews());
+            log.info("POST /orders/analytics/backfill - Görünümler yeniden oluşturuldu: durationMs={}", result.getDurationMs());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("POST /orders/analytics/backfill - Görünümler yeniden oluşturulurken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.eticaret.order.controller;
 
+import com.eticaret.order.dto.OrderIntakeDTO;
+import com.eticaret.order.dto.OrderPageDTO;
 import com.eticaret.order.dto.OrderRequestDTO;
 import com.eticaret.order.dto.OrderResponseDTO;
 import com.eticaret.order.mapper.OrderMapper;
 import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderIntake;
 import com.eticaret.order.service.IOrderService;
+import com.eticaret.order.service.IdempotencyService;
+import com.eticaret.order.service.OrderCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,21 +40,47 @@ public class OrderController {
     
     private final IOrderService orderService;
     private final OrderMapper orderMapper;
+    private final IdempotencyService idempotencyService;
+    @Value("${order.intake.async-default:false}")
+    private final boolean asyncDefault;
 
-    @Operation(summary = "Yeni sipariş oluştur", description = "Yeni bir sipariş oluşturur. Sipariş oluşturulurken ürün ve stok kontrolü yapılır, stok rezerve edilir. Toplam tutar otomatik hesaplanır.")
+    @Operation(summary = "Yeni sipariş oluştur", description = "Yeni bir sipariş oluşturur. Sipariş oluşturulurken ürün ve stok kontrolü yapılır, stok rezerve edilir. Toplam tutar otomatik hesaplanır. Idempotency-Key başlığıyla tekrarlanan istekler ilk yanıtı alır. 'Prefer: respond-async' başlığı gönderilirse (veya order.intake.async-default=true ise) istek kuyruğa alınır ve 202 ile durum adresi döner.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Sipariş başarıyla oluşturuldu"),
+        @ApiResponse(responseCode = "202", description = "Sipariş isteği kabul edildi, durum Location başlığındaki adresten sorgulanabilir"),
         @ApiResponse(responseCode = "400", description = "Geçersiz istek verisi"),
         @ApiResponse(responseCode = "404", description = "Kullanıcı, ürün veya stok bulunamadı"),
         @ApiResponse(responseCode = "400", description = "Yetersiz stok miktarı"),
-        @ApiResponse(responseCode = "503", description = "Bağımlı servisler (User, Product, Stock) kullanılamıyor")
+        @ApiResponse(responseCode = "409", description = "Aynı Idempotency-Key ile gönderilen istek hâlâ işleniyor"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key farklı bir istek gövdesiyle kullanılmış"),
+        @ApiResponse(responseCode = "503", description = "Bağımlı servisler (User, Product, Stock) kullanılamıyor, sipariş kuyruğu dolu veya eşzamanlı sipariş oluşturma sınırı aşıldı (Retry-After başlığı kadar sonra tekrar denenmeli)")
     })
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO orderRequestDTO) {
-        log.info("POST /orders - Yeni sipariş oluşturma isteği alındı: userId={}, items={}", 
-                orderRequestDTO.getUserId(), orderRequestDTO.getItems().size());
+    public ResponseEntity<?> createOrder(
+            @Valid @RequestBody OrderRequestDTO orderRequestDTO,
+            @Parameter(description = "Asenkron işlem için 'respond-async'")
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @Parameter(description = "Tekrar denemelerde aynı siparişin iki kez oluşmaması için istemcinin ürettiği benzersiz anahtar")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        log.info("POST /orders - Yeni sipariş oluşturma isteği alındı: userId={}, items={}, idempotencyKey={}", 
+                orderRequestDTO.getUserId(), orderRequestDTO.getItems().size(), idempotencyKey);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return placeOrder(orderRequestDTO, prefer);
+        }
+        return idempotencyService.execute(idempotencyKey, orderRequestDTO, () -> placeOrder(orderRequestDTO, prefer));
+    }
+
+    private ResponseEntity<?> placeOrder(OrderRequestDTO orderRequestDTO, String prefer) {
         try {
             Order order = orderMapper.toEntity(orderRequestDTO);
+            if (asyncDefault || (prefer != null && prefer.contains("respond-async"))) {
+                OrderIntake intake = orderService.submitOrder(order);
+                OrderIntakeDTO intakeDTO = orderMapper.toIntakeDTO(intake);
+                log.info("POST /orders - Sipariş isteği kuyruğa alındı: intakeId={}", intakeDTO.getId());
+                return ResponseEntity.accepted()
+                        .location(URI.create(intakeDTO.getStatusUrl()))
+                        .body(intakeDTO);
+            }
             Order createdOrder = orderService.createOrder(order);
             OrderResponseDTO responseDTO = orderMapper.toResponseDTO(createdOrder);
             log.info("POST /orders - Sipariş başarıyla oluşturuldu: id={}", responseDTO.getId());
@@ -54,6 +91,44 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Toplu sipariş içe aktar", description = "Her satırı bir sipariş isteği (POST /api/orders gövdesi) olan NDJSON gövdeyi akış halinde işler. Siparişler gruplar halinde doğrulanır, rezerve edilir ve kaydedilir; her satır için sonuç (line, status, orderId veya errorStatus/errorMessage) NDJSON olarak akış halinde döner. Hatalı satırlar diğerlerini etkilemez.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İçe aktarma başladı; satır sonuçları yanıt gövdesinde akar")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importOrders(HttpServletRequest request) {
+        log.info("POST /orders/bulk - Toplu sipariş içe aktarma isteği alındı: contentLength={}", request.getContentLengthLong());
+        StreamingResponseBody body = results -> {
+            try {
+                orderService.importOrders(request.getInputStream(), results);
+            } catch (Exception e) {
+                log.error("POST /orders/bulk - Toplu sipariş içe aktarılırken hata: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Asenkron sipariş durumunu getir", description = "202 ile kabul edilen sipariş isteğinin durumunu getirir. COMPLETED durumunda orderId ve orderUrl, FAILED durumunda hata kodu ve mesajı döner.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sipariş alım durumu başarıyla getirildi"),
+        @ApiResponse(responseCode = "404", description = "Sipariş alım kaydı bulunamadı")
+    })
+    @GetMapping("/intakes/{intakeId}")
+    public ResponseEntity<OrderIntakeDTO> getOrderIntake(
+            @Parameter(description = "Sipariş alım ID'si", required = true)
+            @PathVariable String intakeId) {
+        log.info("GET /orders/intakes/{} - Sipariş alım durumu isteği alındı", intakeId);
+        try {
+            OrderIntakeDTO intakeDTO = orderMapper.toIntakeDTO(orderService.getOrderIntake(intakeId));
+            log.info("GET /orders/intakes/{} - Sipariş alım durumu: {}", intakeId, intakeDTO.getStatus());
+            return ResponseEntity.ok(intakeDTO);
+        } catch (Exception e) {
+            log.error("GET /orders/intakes/{} - Sipariş alım durumu getirilirken hata: {}", intakeId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Operation(summary = "Sipariş bilgilerini getir", description = "ID'ye göre sipariş bilgilerini getirir.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sipariş bilgileri başarıyla getirildi"),
@@ -75,53 +150,71 @@ public class OrderController {
         }
     }
 
-    @Operation(summary = "Kullanıcının siparişlerini getir", description = "Belirtilen kullanıcıya ait tüm siparişleri getirir.")
+    @Operation(summary = "Kullanıcının siparişlerini getir", description = "Belirtilen kullanıcıya ait siparişleri en yeniden eskiye doğru sayfa sayfa getirir. Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Sipariş listesi başarıyla getirildi")
+        @ApiResponse(responseCode = "200", description = "Sipariş sayfası başarıyla getirildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz sayfalama imleci")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByUserId(
+    public ResponseEntity<OrderPageDTO> getOrdersByUserId(
             @Parameter(description = "Kullanıcı ID'si", required = true, example = "1")
-            @PathVariable Long userId) {
-        log.info("GET /orders/user/{} - Kullanıcıya ait siparişler getirme isteği alındı", userId);
+            @PathVariable Long userId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /orders/user/{} - Kullanıcıya ait siparişler getirme isteği alındı: cursor={}, size={}", userId, cursor, size);
         try {
-            List<Order> orders = orderService.getOrdersByUserId(userId);
-            List<OrderResponseDTO> responseDTOs = orders.stream()
-                    .map(orderMapper::toResponseDTO)
-                    .collect(Collectors.toList());
-            log.info("GET /orders/user/{} - {} sipariş başarıyla getirildi", userId, responseDTOs.size());
-            return ResponseEntity.ok(responseDTOs);
+            Slice<Order> orders = orderService.getOrdersByUserId(userId, cursor, size);
+            OrderPageDTO page = toPageDTO(orders);
+            log.info("GET /orders/user/{} - {} sipariş başarıyla getirildi", userId, page.getItems().size());
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             log.error("GET /orders/user/{} - Siparişler getirilirken hata: {}", userId, e.getMessage(), e);
             throw e;
         }
     }
 
-    @Operation(summary = "Tüm siparişleri listele", description = "Sistemdeki tüm siparişleri listeler.")
+    @Operation(summary = "Tüm siparişleri listele", description = "Sistemdeki siparişleri en yeniden eskiye doğru sayfa sayfa listeler. Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Sipariş listesi başarıyla getirildi")
+        @ApiResponse(responseCode = "200", description = "Sipariş sayfası başarıyla getirildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz sayfalama imleci")
     })
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        log.info("GET /orders - Tüm siparişleri getirme isteği alındı");
+    public ResponseEntity<OrderPageDTO> getAllOrders(
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /orders - Siparişleri getirme isteği alındı: cursor={}, size={}", cursor, size);
         try {
-            List<Order> orders = orderService.getAllOrders();
-            List<OrderResponseDTO> responseDTOs = orders.stream()
-                    .map(orderMapper::toResponseDTO)
-                    .collect(Collectors.toList());
-            log.info("GET /orders - {} sipariş başarıyla getirildi", responseDTOs.size());
-            return ResponseEntity.ok(responseDTOs);
+            Slice<Order> orders = orderService.getAllOrders(cursor, size);
+            OrderPageDTO page = toPageDTO(orders);
+            log.info("GET /orders - {} sipariş başarıyla getirildi", page.getItems().size());
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             log.error("GET /orders - Siparişler getirilirken hata: {}", e.getMessage(), e);
             throw e;
         }
     }
 
-    @Operation(summary = "Sipariş durumunu güncelle", description = "Sipariş durumunu günceller. Geçerli durumlar: PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED")
+    private OrderPageDTO toPageDTO(Slice<Order> orders) {
+        List<OrderResponseDTO> items = orders.getContent().stream()
+                .map(orderMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (orders.hasNext() && !orders.getContent().isEmpty()) {
+            nextCursor = OrderCursor.of(orders.getContent().get(orders.getContent().size() - 1)).encode();
+        }
+        return new OrderPageDTO(items, nextCursor, nextCursor != null);
+    }
+
+    @Operation(summary = "Sipariş durumunu güncelle", description = "Sipariş durumunu günceller. Geçerli durumlar: PENDING, CONFIRMED, PAID, PROCESSING, SHIPPED, DELIVERED, CANCELLED. Yalnızca izin verilen geçişler uygulanır (örn. PENDING → CONFIRMED/PAID, SHIPPED → DELIVERED); DELIVERED ve CANCELLED son durumlardır.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sipariş durumu başarıyla güncellendi"),
         @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı"),
-        @ApiResponse(responseCode = "400", description = "Geçersiz sipariş durumu veya sipariş zaten iptal edilmiş")
+        @ApiResponse(responseCode = "409", description = "Mevcut durumdan istenen duruma geçiş yapılamaz"),
+        @ApiResponse(responseCode = "500", description = "Geçersiz sipariş durumu")
     })
     @PutMapping("/{id}/status")
     public ResponseEntity<OrderResponseDTO> updateOrderStatus(
@@ -141,11 +234,12 @@ public class OrderController {
         }
     }
 
-    @Operation(summary = "Siparişi iptal et", description = "Siparişi iptal eder ve rezerve edilmiş stoku serbest bırakır. Sadece PENDING veya CONFIRMED durumundaki siparişler iptal edilebilir.")
+    @Operation(summary = "Siparişi iptal et", description = "Siparişi iptal eder ve rezerve edilmiş stoku serbest bırakır. Teslim edilmiş veya zaten iptal edilmiş siparişler iptal edilemez; PENDING ve CONFIRMED siparişlerin rezerve stokları serbest bırakılır.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Sipariş başarıyla iptal edildi"),
         @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı"),
-        @ApiResponse(responseCode = "400", description = "Sipariş iptal edilemez (zaten teslim edilmiş veya iptal edilmiş)")
+        @ApiResponse(responseCode = "400", description = "Sipariş iptal edilemez (teslim edilmiş)"),
+        @ApiResponse(responseCode = "409", description = "Sipariş zaten iptal edilmiş")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancelOrder(
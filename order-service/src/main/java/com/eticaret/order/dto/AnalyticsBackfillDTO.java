@@ -0,0 +1,20 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsBackfillDTO {
+    private LocalDateTime rebuiltAt;
+    // Yeniden oluşturulan görünümlerdeki doküman sayıları
+    private long days;
+    private long statuses;
+    private long products;
+    private long orders;
+    private long durationMs;
+}
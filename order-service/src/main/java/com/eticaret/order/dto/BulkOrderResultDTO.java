@@ -0,0 +1,29 @@
+package com.eticaret.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Toplu içe aktarmada istek gövdesindeki her satır için bir sonuç satırı (NDJSON)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResultDTO {
+    // İstek gövdesindeki satır numarası (1'den başlar)
+    private long line;
+    
+    // CREATED veya FAILED
+    private String status;
+    
+    private Long orderId;
+    
+    private BigDecimal totalAmount;
+    
+    private Integer errorStatus;
+    
+    private String errorMessage;
+}
@@ -0,0 +1,19 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesDTO {
+    private LocalDate day;
+    private long orderCount;
+    private BigDecimal revenue;
+    private long cancelledCount;
+    private BigDecimal cancelledRevenue;
+}
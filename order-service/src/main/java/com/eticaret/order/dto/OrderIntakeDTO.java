@@ -0,0 +1,23 @@
+package com.eticaret.order.dto;
+
+import com.eticaret.order.model.OrderIntakeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeDTO {
+    private String id;
+    private OrderIntakeStatus status;
+    private String statusUrl;
+    private Long orderId;
+    private String orderUrl;
+    private Integer errorStatus;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
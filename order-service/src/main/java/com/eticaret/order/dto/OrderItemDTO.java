@@ -22,5 +22,10 @@ public class OrderItemDTO {
     @NotNull
     @Min(1)
     private Integer quantity;
+    
+    // Yalnızca yanıtta doldurulur (sipariş anındaki fiyat); istekte gönderilirse yok sayılır
+    private BigDecimal price;
+    
+    private BigDecimal lineTotal;
 }
 
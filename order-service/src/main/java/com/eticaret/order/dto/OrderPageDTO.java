@@ -0,0 +1,17 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+    private List<OrderResponseDTO> items;
+    // Sonraki sayfa için imleç; son sayfada null
+    private String nextCursor;
+    private boolean hasNext;
+}
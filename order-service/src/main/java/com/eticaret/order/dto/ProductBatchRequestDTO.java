@@ -0,0 +1,14 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequestDTO {
+    private List<String> ids;
+}
@@ -0,0 +1,18 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDTO {
+    private String productId;
+    private String productName;
+    private long quantity;
+    private BigDecimal revenue;
+    private long orderCount;
+}
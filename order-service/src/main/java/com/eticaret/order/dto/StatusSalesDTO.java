@@ -0,0 +1,16 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSalesDTO {
+    private String status;
+    private long orderCount;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,13 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseItemDTO {
+    private Long stockId;
+    private Integer quantity;
+}
@@ -0,0 +1,15 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseResponseDTO {
+    private boolean released;
+    private List<StockReleaseLineDTO> lines;
+}
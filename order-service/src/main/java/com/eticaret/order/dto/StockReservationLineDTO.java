@@ -0,0 +1,17 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationLineDTO {
+    private String productId;
+    private Long stockId;
+    private Integer quantity;
+    // RESERVED, INSUFFICIENT_STOCK, NOT_FOUND, ROLLED_BACK, SKIPPED
+    private String status;
+    private Integer availableQuantity;
+}
@@ -0,0 +1,15 @@
+package com.eticaret.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponseDTO {
+    private boolean reserved;
+    private List<StockReservationLineDTO> lines;
+}
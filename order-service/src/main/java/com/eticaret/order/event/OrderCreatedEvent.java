@@ -0,0 +1,40 @@
+package com.eticaret.order.event;
+
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// order-created olayı (v1): Order dokümanının tamamı yerine tüketicilerin ihtiyaç duyduğu alanlar taşınır.
+// Alan eklemek geriye uyumludur; alan çıkarmak ya da anlamını değiştirmek version artırılarak yapılır.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderCreatedEvent(
+        int version,
+        // Eski (tam Order) mesajlarda alanın adı "id"
+        @JsonAlias("id") Long orderId,
+        Long userId,
+        BigDecimal totalAmount,
+        OrderStatus status,
+        long occurredAt,
+        List<Line> items) {
+
+    public static final int VERSION = 1;
+
+    public record Line(String productId, String productName, Integer quantity, Long lineTotalMinor) {
+    }
+
+    public static OrderCreatedEvent from(Order order) {
+        return from(order, System.currentTimeMillis());
+    }
+
+    public static OrderCreatedEvent from(Order order, long occurredAt) {
+        List<Line> lines = order.getItems() == null ? List.of() : order.getItems().stream()
+                .map(item -> new Line(item.getProductId(), item.getProductName(), item.getQuantity(), item.getLineTotalMinor()))
+                .toList();
+        return new OrderCreatedEvent(VERSION, order.getId(), order.getUserId(), order.getTotalAmount(),
+                order.getStatus(), occurredAt, lines);
+    }
+}
@@ -0,0 +1,32 @@
+package com.eticaret.order.event;
+
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderStatus;
+import com.eticaret.order.model.PendingTransition;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.ZoneId;
+
+// order-status-updated ve order-cancelled olayı (v1). previousStatus eski olaylarda boş olabilir.
+// İki topic arasında Kafka sıra garantisi vermez (ör. PAID ve CANCELLED farklı sırayla gelebilir). Sıra, sipariş
+// başına kesin artan occurredAt ile taşınır: durumu uygulayan tüketici, son uyguladığı occurredAt'ten eski olayı
+// atlamalıdır (bkz. OrderAnalyticsProjector.recordStatusChange). Sıradan bağımsız tüketiciler (önbellek silme,
+// loglama) occurredAt'e bakmaz.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderStatusChangedEvent(
+        int version,
+        @JsonAlias("id") Long orderId,
+        Long userId,
+        OrderStatus status,
+        OrderStatus previousStatus,
+        long occurredAt) {
+
+    public static final int VERSION = 1;
+
+    // Durum ve zaman siparişin güncel halinden değil, geçiş işaretinden alınır
+    public static OrderStatusChangedEvent from(Order order, PendingTransition transition) {
+        return new OrderStatusChangedEvent(VERSION, order.getId(), order.getUserId(), transition.getTo(),
+                transition.getFrom(), transition.getAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,20 @@
+package com.eticaret.order.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// payment-completed olayı (v1); Payment Service'teki tanımla aynı alanları taşır
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaymentCompletedEvent(
+        int version,
+        Long orderId,
+        String status,
+        long timestamp) {
+
+    public static final int VERSION = 1;
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return "SUCCESS".equals(status);
+    }
+}
@@ -0,0 +1,17 @@
+package com.eticaret.order.event;
+
+import java.math.BigDecimal;
+
+// Product Service'in yayınladığı product-changed olayı (v1); DELETED olayında yalnızca productId dolu
+public record ProductChangedEvent(
+        int version,
+        Type type,
+        String productId,
+        String name,
+        BigDecimal price,
+        long occurredAt) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,8 @@
+package com.eticaret.order.event;
+
+// User Service'in yayınladığı user-deleted olayı (v1)
+public record UserDeletedEvent(
+        int version,
+        Long userId,
+        long occurredAt) {
+}
@@ -0,0 +1,7 @@
+package com.eticaret.order.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String key) {
+        super("Aynı Idempotency-Key ile gönderilen istek hâlâ işleniyor: " + key);
+    }
+}
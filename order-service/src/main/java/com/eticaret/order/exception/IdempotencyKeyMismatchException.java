@@ -0,0 +1,7 @@
+package com.eticaret.order.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key farklı bir istek gövdesiyle kullanılmış: " + key);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eticaret.order.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Geçersiz sayfalama imleci: " + cursor);
+    }
+}
@@ -0,0 +1,9 @@
+package com.eticaret.order.exception;
+
+import com.eticaret.order.model.OrderStatus;
+
+public class OrderStatusTransitionException extends RuntimeException {
+    public OrderStatusTransitionException(Long orderId, OrderStatus current, OrderStatus target) {
+        super(String.format("Sipariş durumu değiştirilemez: ID=%d, %s → %s", orderId, current, target));
+    }
+}
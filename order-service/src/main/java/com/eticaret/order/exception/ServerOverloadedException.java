@@ -0,0 +1,14 @@
+package com.eticaret.order.exception;
+
+public class ServerOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServerOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
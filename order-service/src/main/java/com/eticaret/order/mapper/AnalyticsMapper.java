@@ -0,0 +1,40 @@
+package com.eticaret.order.mapper;
+
+import com.eticaret.order.dto.AnalyticsBackfillDTO;
+import com.eticaret.order.dto.DailySalesDTO;
+import com.eticaret.order.dto.ProductSalesDTO;
+import com.eticaret.order.dto.StatusSalesDTO;
+import com.eticaret.order.model.DailySales;
+import com.eticaret.order.model.Money;
+import com.eticaret.order.model.ProductSales;
+import com.eticaret.order.model.StatusSales;
+import com.eticaret.order.service.AnalyticsBackfill;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Görünümler tutarları kuruş olarak tutar; API'de BigDecimal'e çevrilir
+@Component
+public class AnalyticsMapper {
+
+    public DailySalesDTO toDailyDTO(DailySales sales) {
+        return new DailySalesDTO(LocalDate.parse(sales.getDay()), sales.getOrderCount(),
+                Money.ofMinor(sales.getRevenueMinor()).toBigDecimal(), sales.getCancelledCount(),
+                Money.ofMinor(sales.getCancelledRevenueMinor()).toBigDecimal());
+    }
+
+    public StatusSalesDTO toStatusDTO(StatusSales sales) {
+        return new StatusSalesDTO(sales.getStatus(), sales.getOrderCount(),
+                Money.ofMinor(sales.getRevenueMinor()).toBigDecimal());
+    }
+
+    public ProductSalesDTO toProductDTO(ProductSales sales) {
+        return new ProductSalesDTO(sales.getProductId(), sales.getProductName(), sales.getQuantity(),
+                Money.ofMinor(sales.getRevenueMinor()).toBigDecimal(), sales.getOrderCount());
+    }
+
+    public AnalyticsBackfillDTO toBackfillDTO(AnalyticsBackfill backfill) {
+        return new AnalyticsBackfillDTO(backfill.rebuiltAt(), backfill.days(), backfill.statuses(),
+                backfill.products(), backfill.orders(), backfill.durationMs());
+    }
+}
@@ -1,9 +1,12 @@
 package com.eticaret.order.mapper;
 
+import com.eticaret.order.dto.OrderIntakeDTO;
 import com.eticaret.order.dto.OrderItemDTO;
 import com.eticaret.order.dto.OrderRequestDTO;
 import com.eticaret.order.dto.OrderResponseDTO;
+import com.eticaret.order.model.Money;
 import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderIntake;
 import com.eticaret.order.model.OrderItem;
 import org.springframework.stereotype.Component;
 
@@ -63,7 +66,29 @@ public class OrderMapper {
         dto.setProductId(item.getProductId());
         dto.setProductName(item.getProductName());
         dto.setQuantity(item.getQuantity());
+        // Fiyat öncesi kaydedilmiş eski siparişlerde boş kalır
+        if (item.getUnitPriceMinor() != null) {
+            dto.setPrice(Money.ofMinor(item.getUnitPriceMinor()).toBigDecimal());
+        }
+        if (item.getLineTotalMinor() != null) {
+            dto.setLineTotal(Money.ofMinor(item.getLineTotalMinor()).toBigDecimal());
+        }
+        return dto;
+    }
+    
+    public OrderIntakeDTO toIntakeDTO(OrderIntake intake) {
+        OrderIntakeDTO dto = new OrderIntakeDTO();
+        dto.setId(intake.getId());
+        dto.setStatus(intake.getStatus());
+        dto.setStatusUrl("/api/orders/intakes/" + intake.getId());
+        dto.setOrderId(intake.getOrderId());
+        if (intake.getOrderId() != null) {
+            dto.setOrderUrl("/api/orders/" + intake.getOrderId());
+        }
+        dto.setErrorStatus(intake.getErrorStatus());
+        dto.setErrorMessage(intake.getErrorMessage());
+        dto.setCreatedAt(intake.getCreatedAt());
+        dto.setUpdatedAt(intake.getUpdatedAt());
         return dto;
     }
 }
-
@@ -0,0 +1,34 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Analitik görünümlere uygulanmış son sipariş durumu. Tekrar gelen olayların ikinci kez sayılmasını önler ve
+// durum değişikliğinde hangi sayaçtan düşüleceğini (önceki durum, tutar, gün) verir. applied=false iken sayaçlar
+// henüz artırılmamıştır (işlem sürüyor ya da yarıda kaldı); alanı olmayan eski kayıtlar uygulanmış sayılır.
+@Document(collection = "order_stats_orders")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsOrderState {
+    @Id
+    private Long orderId;
+    
+    private OrderStatus status;
+    
+    private long totalMinor;
+    
+    private String day;
+    
+    // Uygulanan son olayın zamanı (epoch ms); daha eski ya da aynı zamanlı olaylar atlanır
+    private long lastEventAt;
+    
+    private Boolean applied;
+    
+    private LocalDateTime claimedAt;
+}
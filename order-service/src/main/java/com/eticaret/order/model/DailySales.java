@@ -0,0 +1,32 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Günlük satış özeti (materialized view); sipariş olaylarıyla $inc ile güncellenir
+@Document(collection = "order_stats_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySales {
+    // yyyy-MM-dd (order.analytics.zone saat diliminde)
+    @Id
+    private String day;
+    
+    private long orderCount;
+    
+    // Kuruş cinsinden
+    private long revenueMinor;
+    
+    private long cancelledCount;
+    
+    private long cancelledRevenueMinor;
+    
+    // Son yeniden oluşturma (backfill) zamanı
+    private LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,40 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Idempotency-Key ile gelen isteğin sonucu; aynı anahtarla tekrarlanan istekler bu yanıtı alır
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    private String id;
+    
+    // Aynı anahtarın farklı bir istek gövdesiyle kullanılmasını yakalamak için SHA-256
+    private String requestHash;
+    
+    private IdempotencyStatus status;
+    
+    private Integer responseStatus;
+    
+    private String responseBody;
+    
+    private String responseLocation;
+    
+    // IN_PROGRESS iken isteği işleyen instance; kilit süresi dolarsa başka bir instance devralabilir
+    private String lockedBy;
+    
+    private LocalDateTime lockedUntil;
+    
+    private LocalDateTime createdAt;
+    
+    // TTL index bu alana göre kaydı siler
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,6 @@
+package com.eticaret.order.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,33 @@
+package com.eticaret.order.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Sabit noktalı para tutarı: kuruş cinsinden long. Fiyatlandırma yolunda BigDecimal nesnesi üretilmez;
+// BigDecimal'e yalnızca API/doküman sınırında çevrilir. Taşmada ArithmeticException fırlatılır.
+public record Money(long minorUnits) {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    // Kuruştan hassas fiyatlar yarıya yuvarlanır
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
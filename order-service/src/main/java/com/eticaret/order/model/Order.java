@@ -36,6 +36,9 @@ public class Order {
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
+    
+    // Olayı henüz outbox'a yazılmamış toplu durum geçişleri
+    private List<PendingTransition> pendingTransitions;
 
     {
         this.status = OrderStatus.PENDING;
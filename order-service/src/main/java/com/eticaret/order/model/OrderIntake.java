@@ -0,0 +1,36 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Asenkron sipariş alımında istemcinin durumunu sorguladığı kayıt
+@Document(collection = "order_intakes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntake {
+    @Id
+    private String id;
+    
+    private OrderIntakeStatus status;
+    
+    // İşlenmeyi bekleyen sipariş isteği; tamamlandığında silinir
+    private Order order;
+    
+    // Oluşturulan siparişin ID'si (COMPLETED)
+    private Long orderId;
+    
+    // Hata durumunda senkron API'nin döneceği HTTP durum kodu ve mesaj (FAILED)
+    private Integer errorStatus;
+    
+    private String errorMessage;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
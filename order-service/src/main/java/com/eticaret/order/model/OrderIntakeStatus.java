@@ -0,0 +1,7 @@
+package com.eticaret.order.model;
+
+public enum OrderIntakeStatus {
+    ACCEPTED,
+    COMPLETED,
+    FAILED
+}
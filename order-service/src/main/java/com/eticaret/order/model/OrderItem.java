@@ -21,5 +21,13 @@ public class OrderItem {
     @NotNull
     @Min(1)
     private Integer quantity;
+    
+    // Sipariş anındaki birim fiyat ve satır toplamı (kuruş); raporlama ürünleri tekrar sorgulamadan okur
+    private Long unitPriceMinor;
+    
+    private Long lineTotalMinor;
+    
+    // Rezervasyonun yapıldığı stok kaydı; iptalde ürün bazlı stok sorgusu gerekmez
+    private Long stockId;
 }
 
@@ -1,5 +1,11 @@
 package com.eticaret.order.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -7,6 +13,30 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    PAID
-}
+    PAID;
+
+    // İzin verilen geçişler: kaynak durum → hedef durumlar. DELIVERED ve CANCELLED son durumlardır.
+    // Yalnızca SOURCES'u kurmak için kullanılır; geçişler koşullu güncellemede sourcesOf ile uygulanır.
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    // Hedef durum → bu duruma geçebilen kaynak durumlar (koşullu güncelleme filtresi için)
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
 
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, PAID, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PAID, PROCESSING, CANCELLED));
+        TRANSITIONS.put(PAID, EnumSet.of(PROCESSING, SHIPPED, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED, CANCELLED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus target : values()) {
+            SOURCES.put(target, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((source, targets) -> targets.forEach(target -> SOURCES.get(target).add(source)));
+    }
+
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        return Collections.unmodifiableSet(SOURCES.get(target));
+    }
+}
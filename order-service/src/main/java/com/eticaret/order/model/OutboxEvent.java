@@ -0,0 +1,36 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "order_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    private String id;
+    
+    private String topic;
+    
+    // Olayın ait olduğu sipariş
+    private String aggregateId;
+    
+    private Object payload;
+    
+    private LocalDateTime createdAt;
+    
+    private int attempts;
+    
+    private String lastError;
+    
+    // Birden fazla instance aynı olayı aynı anda göndermesin diye kısa süreli sahiplik
+    private String lockedBy;
+    
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,25 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Siparişe, oluşturma ya da durum değişikliğiyle aynı yazımda eklenen bekleyen olay işareti. Olayı outbox'a
+// yazılınca kaldırılır; yazılamadan kalan işaretler OutboxTransitionRecovery tarafından olaya dönüştürülür.
+// from boşsa işaret sipariş oluşturma (order-created) olayıdır.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTransition {
+    private String batchId;
+    
+    private OrderStatus from;
+    
+    private OrderStatus to;
+    
+    private String topic;
+    
+    private LocalDateTime at;
+}
@@ -0,0 +1,30 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Ürün bazında satış özeti (materialized view)
+@Document(collection = "order_stats_product")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSales {
+    @Id
+    private String productId;
+    
+    private String productName;
+    
+    private long quantity;
+    
+    private long revenueMinor;
+    
+    // Ürünü içeren sipariş sayısı
+    private long orderCount;
+    
+    private LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,25 @@
+package com.eticaret.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Şu an her durumda bulunan sipariş sayısı ve tutarı (materialized view)
+@Document(collection = "order_stats_status")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSales {
+    @Id
+    private String status;
+    
+    private long orderCount;
+    
+    private long revenueMinor;
+    
+    private LocalDateTime rebuiltAt;
+}
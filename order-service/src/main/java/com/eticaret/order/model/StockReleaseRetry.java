@@ -0,0 +1,34 @@
+package com.eticaret.order.model;
+
+import com.eticaret.order.dto.StockReleaseItemDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Stock Service'e ulaşılamadığı için ertelenen stok serbest bırakma isteği
+@Document(collection = "stock_release_retries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseRetry {
+    // Stock Service'e gönderilen releaseId; tekrar denemeler aynı kimlikle yapılır
+    @Id
+    private String id;
+    
+    private Long orderId;
+    
+    private List<StockReleaseItemDTO> items;
+    
+    private int attempts;
+    
+    private String lastError;
+    
+    private LocalDateTime nextAttemptAt;
+    
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.eticaret.order.repository;
+
+import com.eticaret.order.model.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Sıcak ve arşiv koleksiyonlarını tek depo gibi okuyan sorgular
+public interface ArchiveAwareOrderRepository {
+
+    Optional<Order> findById(Long id);
+
+    // Keyset sayfalama: (createdAt, id) azalan sırada; ilk sayfa imleçsiz, sonrakiler son kaydın anahtarından devam eder
+    Slice<Order> findByUserId(Long userId, Pageable pageable);
+
+    Slice<Order> findByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    Slice<Order> findSliceBy(Pageable pageable);
+
+    Slice<Order> findSliceBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+}
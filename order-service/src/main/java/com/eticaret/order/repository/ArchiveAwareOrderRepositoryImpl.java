@@ -0,0 +1,94 @@
+package com.eticaret.order.repository;
+
+import com.eticaret.order.model.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Arşivdeki siparişlerin hepsi arşivleme yaşından eskidir. Sıcak koleksiyondan gelen sayfa doluysa ve
+// bu sınırdan yeni kayıtlarla bitiyorsa arşiv hiç sorgulanmaz; güncel sayfalar arşiv index'ine dokunmaz.
+public class ArchiveAwareOrderRepositoryImpl implements ArchiveAwareOrderRepository {
+
+    public static final String ARCHIVE_COLLECTION = "orders_archive";
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getCreatedAt)
+            .thenComparing(Order::getId)
+            .reversed();
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration archiveAfter;
+
+    public ArchiveAwareOrderRepositoryImpl(MongoTemplate mongoTemplate,
+                                           @Value("${order.archive.after-days:90}") long archiveAfterDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveAfter = Duration.ofDays(archiveAfterDays);
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        Order order = mongoTemplate.findById(id, Order.class);
+        if (order == null) {
+            order = mongoTemplate.findById(id, Order.class, ARCHIVE_COLLECTION);
+        }
+        return Optional.ofNullable(order);
+    }
+
+    @Override
+    public Slice<Order> findByUserId(Long userId, Pageable pageable) {
+        return findSlice(Criteria.where("userId").is(userId), pageable);
+    }
+
+    @Override
+    public Slice<Order> findByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, Pageable pageable) {
+        return findSlice(Criteria.where("userId").is(userId).andOperator(before(createdAt, id)), pageable);
+    }
+
+    @Override
+    public Slice<Order> findSliceBy(Pageable pageable) {
+        return findSlice(new Criteria(), pageable);
+    }
+
+    @Override
+    public Slice<Order> findSliceBefore(LocalDateTime createdAt, Long id, Pageable pageable) {
+        return findSlice(before(createdAt, id), pageable);
+    }
+
+    private static Criteria before(LocalDateTime createdAt, Long id) {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("_id").lt(id));
+    }
+
+    // Her iki koleksiyondan en fazla size+1 kayıt okunur, (createdAt, id) azalan sırada birleştirilir
+    private Slice<Order> findSlice(Criteria criteria, Pageable pageable) {
+        int size = pageable.getPageSize();
+        Query query = new Query(criteria).with(pageable.getSort()).limit(size + 1);
+        List<Order> hot = mongoTemplate.find(query, Order.class);
+        if (hot.size() > size && !hot.get(size).getCreatedAt().isBefore(LocalDateTime.now().minus(archiveAfter))) {
+            return new SliceImpl<>(hot.subList(0, size), pageable, true);
+        }
+
+        List<Order> cold = mongoTemplate.find(query, Order.class, ARCHIVE_COLLECTION);
+        // Arşivleme sırasında bir sipariş kısa süre iki koleksiyonda da bulunabilir; sıcak kopya esas alınır
+        Map<Long, Order> merged = new LinkedHashMap<>();
+        hot.forEach(order -> merged.put(order.getId(), order));
+        cold.forEach(order -> merged.putIfAbsent(order.getId(), order));
+        List<Order> orders = new ArrayList<>(merged.values());
+        orders.sort(NEWEST_FIRST);
+        boolean hasNext = orders.size() > size;
+        return new SliceImpl<>(hasNext ? orders.subList(0, size) : orders, pageable, hasNext);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eticaret.order.repository;
+
+import com.eticaret.order.model.OrderIntake;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OrderIntakeRepository extends MongoRepository<OrderIntake, String> {
+}
@@ -2,10 +2,16 @@ package com.eticaret.order.repository;
 
 import com.eticaret.order.model.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
+
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends MongoRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
+// Okumalar ArchiveAwareOrderRepository üzerinden önce sıcak (orders), sonra arşiv (orders_archive) koleksiyonuna bakar;
+// yazmalar yalnızca sıcak koleksiyona yapılır
+public interface OrderRepository extends MongoRepository<Order, Long>, ArchiveAwareOrderRepository {
     List<Order> findByStatus(String status);
-}
 
+    // CrudRepository.findById yerine arşive de bakan ArchiveAwareOrderRepositoryImpl.findById çalışır
+    @Override
+    Optional<Order> findById(Long id);
+}
@@ -0,0 +1,7 @@
+package com.eticaret.order.repository;
+
+import com.eticaret.order.model.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+}
@@ -0,0 +1,83 @@
+package com.eticaret.order.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gradient tabanlı eşzamanlılık sınırı. Uzun dönem gecikme ortalaması (longRtt) ile son gecikme karşılaştırılır:
+// gecikme artarken sınır longRtt/rtt oranında düşer, normalken her örnekte kuyruk payı (√limit) kadar büyür.
+// Zaman aşımı ve 503 gibi aşırı yük işaretlerinde sınır çarpımsal olarak azaltılır (AIMD).
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int longWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double tolerance, double backoffRatio, int longWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.longWindow = Math.max(1, longWindow);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    // false dönerse istek reddedilmelidir; true dönerse release mutlaka çağrılmalıdır
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean overloaded) {
+        int observedInFlight = inFlight.getAndDecrement();
+        update(rttNanos, observedInFlight, overloaded);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int observedInFlight, boolean overloaded) {
+        double current = limit;
+        if (overloaded) {
+            limit = Math.max(minLimit, current * backoffRatio);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / longWindow;
+        // Gecikme uzun süre yüksek kalıp düştüğünde uzun dönem ortalaması da hızla toparlanır
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Sınırın yarısı bile kullanılmıyorsa gözlem sınır hakkında bilgi vermez; sınır büyütülmez
+        if (observedInFlight < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,8 @@
+package com.eticaret.order.service;
+
+import java.time.LocalDateTime;
+
+// Analitik görünümlerin yeniden oluşturulma sonucu: her görünümdeki doküman sayısı ve süre
+public record AnalyticsBackfill(LocalDateTime rebuiltAt, long days, long statuses, long products,
+                                long orders, long durationMs) {
+}
@@ -0,0 +1,183 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.AnalyticsOrderState;
+import com.eticaret.order.model.DailySales;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.ProductSales;
+import com.eticaret.order.model.StatusSales;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.eticaret.order.repository.ArchiveAwareOrderRepositoryImpl.ARCHIVE_COLLECTION;
+
+// Analitik sorgular önceden toplanmış görünümlerden okunur; maliyet sonuç boyutuyla orantılıdır.
+// Görünümler olaylarla artımlı güncellenir, rebuildViews tamamını siparişlerden yeniden hesaplar.
+@Slf4j
+@Service
+public class AnalyticsServiceImpl implements IAnalyticsService {
+
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_PRODUCTS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final String zone;
+
+    public AnalyticsServiceImpl(MongoTemplate mongoTemplate,
+                                @Value("${order.analytics.zone:Europe/Istanbul}") String zone) {
+        this.mongoTemplate = mongoTemplate;
+        this.zone = zone;
+    }
+
+    @Override
+    public List<DailySales> getDailySales(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneId.of(zone));
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isBefore(end.minusDays(MAX_DAYS - 1))) {
+            start = end.minusDays(MAX_DAYS - 1);
+        }
+        log.debug("Günlük satışlar getiriliyor: from={}, to={}", start, end);
+        // Gün anahtarı yyyy-MM-dd olduğundan metin aralığı tarih aralığıyla aynıdır
+        Query query = new Query(Criteria.where("_id").gte(start.toString()).lte(end.toString()))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.find(query, DailySales.class);
+    }
+
+    @Override
+    public List<StatusSales> getStatusSales() {
+        log.debug("Durum bazında satışlar getiriliyor");
+        return mongoTemplate.find(new Query().with(Sort.by(Sort.Direction.ASC, "_id")), StatusSales.class);
+    }
+
+    @Override
+    public List<ProductSales> getTopProducts(int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PRODUCTS);
+        log.debug("En çok satan ürünler getiriliyor: limit={}", size);
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "revenueMinor")).limit(size);
+        return mongoTemplate.find(query, ProductSales.class);
+    }
+
+    @Override
+    public AnalyticsBackfill rebuildViews() {
+        LocalDateTime rebuiltAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Date marker = Date.from(rebuiltAt.atZone(ZoneId.systemDefault()).toInstant());
+        long start = System.currentTimeMillis();
+        log.info("Analitik görünümler yeniden oluşturuluyor: zone={}", zone);
+
+        String orders = mongoTemplate.getCollectionName(Order.class);
+        aggregateInto(orders, dailyPipeline(marker));
+        aggregateInto(orders, statusPipeline(marker));
+        aggregateInto(orders, productPipeline(marker));
+        aggregateInto(orders, statePipeline());
+
+        // Bu çalıştırmada üretilmeyen (artık karşılığı olmayan) görünüm dokümanları silinir
+        Query stale = new Query(Criteria.where("rebuiltAt").lt(rebuiltAt));
+        mongoTemplate.remove(stale, DailySales.class);
+        mongoTemplate.remove(stale, StatusSales.class);
+        mongoTemplate.remove(stale, ProductSales.class);
+
+        AnalyticsBackfill result = new AnalyticsBackfill(rebuiltAt,
+                mongoTemplate.count(new Query(), DailySales.class),
+                mongoTemplate.count(new Query(), StatusSales.class),
+                mongoTemplate.count(new Query(), ProductSales.class),
+                mongoTemplate.count(new Query(), AnalyticsOrderState.class),
+                System.currentTimeMillis() - start);
+        log.info("Analitik görünümler yeniden oluşturuldu: days={}, statuses={}, products={}, orders={}, durationMs={}",
+                result.days(), result.statuses(), result.products(), result.orders(), result.durationMs());
+        return result;
+    }
+
+    private void aggregateInto(String collection, List<Document> pipeline) {
+        // Arşivlenmiş siparişler de sayılır; $merge ile biten pipeline sonuçları sunucuda yazar, uygulamaya doküman taşınmaz
+        List<Document> stages = Stream.concat(Stream.of(new Document("$unionWith", ARCHIVE_COLLECTION)), pipeline.stream())
+                .toList();
+        mongoTemplate.getCollection(collection).aggregate(stages).allowDiskUse(true).toCollection();
+    }
+
+    private List<Document> dailyPipeline(Date marker) {
+        Document cancelled = new Document("$eq", List.of("$status", "CANCELLED"));
+        return List.of(
+                new Document("$project", new Document("day", dayExpression())
+                        .append("revenue", revenueExpression())
+                        .append("cancelled", cancelled)),
+                new Document("$group", new Document("_id", "$day")
+                        .append("orderCount", new Document("$sum", 1L))
+                        .append("revenueMinor", new Document("$sum", "$revenue"))
+                        .append("cancelledCount", new Document("$sum",
+                                new Document("$cond", List.of("$cancelled", 1L, 0L))))
+                        .append("cancelledRevenueMinor", new Document("$sum",
+                                new Document("$cond", List.of("$cancelled", "$revenue", 0L))))),
+                new Document("$set", new Document("rebuiltAt", marker)),
+                merge(mongoTemplate.getCollectionName(DailySales.class)));
+    }
+
+    private List<Document> statusPipeline(Date marker) {
+        return List.of(
+                new Document("$group", new Document("_id", "$status")
+                        .append("orderCount", new Document("$sum", 1L))
+                        .append("revenueMinor", new Document("$sum", revenueExpression()))),
+                new Document("$set", new Document("rebuiltAt", marker)),
+                merge(mongoTemplate.getCollectionName(StatusSales.class)));
+    }
+
+    private List<Document> productPipeline(Date marker) {
+        // Önce sipariş+ürün bazında toplanır; aynı ürün bir siparişte birden çok satırda olsa da orderCount bir artar
+        return List.of(
+                new Document("$unwind", "$items"),
+                new Document("$group", new Document("_id",
+                        new Document("order", "$_id").append("product", "$items.productId"))
+                        .append("productName", new Document("$last", "$items.productName"))
+                        .append("quantity", new Document("$sum", new Document("$toLong", "$items.quantity")))
+                        .append("revenueMinor", new Document("$sum",
+                                new Document("$ifNull", List.of("$items.lineTotalMinor", 0L))))),
+                new Document("$group", new Document("_id", "$_id.product")
+                        .append("productName", new Document("$last", "$productName"))
+                        .append("quantity", new Document("$sum", "$quantity"))
+                        .append("revenueMinor", new Document("$sum", "$revenueMinor"))
+                        .append("orderCount", new Document("$sum", 1L))),
+                new Document("$set", new Document("rebuiltAt", marker)),
+                merge(mongoTemplate.getCollectionName(ProductSales.class)));
+    }
+
+    private List<Document> statePipeline() {
+        return List.of(
+                new Document("$project", new Document("status", 1)
+                        .append("totalMinor", revenueExpression())
+                        .append("day", dayExpression())
+                        .append("lastEventAt", new Document("$toLong", "$updatedAt"))
+                        .append("applied", new Document("$literal", true))),
+                merge(mongoTemplate.getCollectionName(AnalyticsOrderState.class)));
+    }
+
+    // BigDecimal tutar metin olarak saklanır; kuruşa yuvarlanarak long'a çevrilir
+    private static Document revenueExpression() {
+        return new Document("$toLong", new Document("$round", List.of(
+                new Document("$multiply", List.of(new Document("$toDecimal", "$totalAmount"), 100)), 0)));
+    }
+
+    private Document dayExpression() {
+        return new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("date", "$createdAt")
+                .append("timezone", zone));
+    }
+
+    private static Document merge(String collection) {
+        return new Document("$merge", new Document("into", collection)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert"));
+    }
+}
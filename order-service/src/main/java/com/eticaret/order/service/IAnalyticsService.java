@@ -0,0 +1,15 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.DailySales;
+import com.eticaret.order.model.ProductSales;
+import com.eticaret.order.model.StatusSales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IAnalyticsService {
+    List<DailySales> getDailySales(LocalDate from, LocalDate to);
+    List<StatusSales> getStatusSales();
+    List<ProductSales> getTopProducts(int limit);
+    AnalyticsBackfill rebuildViews();
+}
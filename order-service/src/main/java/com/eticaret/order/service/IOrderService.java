@@ -1,15 +1,25 @@
 package com.eticaret.order.service;
 
 import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderIntake;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 public interface IOrderService {
     Order createOrder(Order order);
+    OrderIntake submitOrder(Order order);
+    void importOrders(InputStream body, OutputStream results) throws IOException;
+    OrderIntake getOrderIntake(String intakeId);
     Order getOrderById(Long id);
-    List<Order> getOrdersByUserId(Long userId);
-    List<Order> getAllOrders();
+    Slice<Order> getOrdersByUserId(Long userId, String cursor, int size);
+    Slice<Order> getAllOrders(String cursor, int size);
     Order updateOrderStatus(Long id, String status);
     void cancelOrder(Long id);
+    List<Order> markOrdersPaid(Collection<Long> orderIds);
 }
 
@@ -0,0 +1,304 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.exception.IdempotencyConflictException;
+import com.eticaret.order.exception.IdempotencyKeyMismatchException;
+import com.eticaret.order.model.IdempotencyRecord;
+import com.eticaret.order.model.IdempotencyStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+
+// Idempotency-Key desteği: tamamlanan yanıtlar önce bellekteki LRU'dan, sonra TTL index'li
+// idempotency_keys koleksiyonundan döner. Aynı instance'a eşzamanlı gelen kopyalar tek işleme
+// bağlanır; başka bir instance'ta işlenmekte olan anahtar için 409 döner. İşlem sürdükçe kilit periyodik olarak
+// yenilenir; böylece bağımlı servis zaman aşımlarıyla uzayan bir istek başka bir instance tarafından devralınmaz.
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final Duration lockDuration;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ScheduledExecutorService lockRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lock-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyService(MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.idempotency.cache-size:10000}") long cacheSize,
+                              @Value("${order.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${order.idempotency.lock-seconds:30}") long lockSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.retention = Duration.ofHours(ttlHours);
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lockRenewer.shutdownNow();
+    }
+
+    public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+        String requestHash = hash(request);
+        
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, requestHash, "memory");
+        }
+        
+        // Aynı instance'taki eşzamanlı kopyalar ilk isteğin sonucunu bekler
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return awaitInFlight(key, existing, requestHash);
+        }
+        
+        try {
+            ResponseEntity<?> response = executeOnce(key, requestHash, action);
+            mine.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private ResponseEntity<?> executeOnce(String key, String requestHash, Supplier<ResponseEntity<?>> action) {
+        IdempotencyRecord stored = acquire(key, requestHash);
+        if (stored != null) {
+            if (stored.getStatus() == IdempotencyStatus.COMPLETED) {
+                completed.put(key, stored);
+                return replay(key, stored, requestHash, "store");
+            }
+            if (!requestHash.equals(stored.getRequestHash())) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            meterRegistry.counter("order.idempotency.requests", "result", "conflict").increment();
+            log.warn("Idempotency-Key başka bir instance'ta işleniyor: key={}, lockedBy={}", key, stored.getLockedBy());
+            throw new IdempotencyConflictException(key);
+        }
+        
+        ResponseEntity<?> response;
+        long renewEvery = Math.max(1, lockDuration.toMillis() / 3);
+        ScheduledFuture<?> renewal = lockRenewer.scheduleAtFixedRate(
+                () -> renewLock(key), renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Hata yanıtları saklanmaz; istemci aynı anahtarla tekrar deneyebilir
+            mongoTemplate.remove(new Query(Criteria.where("id").is(key).and("lockedBy").is(instanceId)), IdempotencyRecord.class);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+        
+        IdempotencyRecord record = complete(key, requestHash, response);
+        if (record != null) {
+            completed.put(key, record);
+        }
+        meterRegistry.counter("order.idempotency.requests", "result", "executed").increment();
+        return response;
+    }
+
+    private void renewLock(String key) {
+        try {
+            long renewed = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(key)
+                            .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                            .and("lockedBy").is(instanceId)),
+                    new Update().set("lockedUntil", LocalDateTime.now().plus(lockDuration)),
+                    IdempotencyRecord.class).getMatchedCount();
+            if (renewed == 0) {
+                log.warn("Idempotency kilidi yenilenemedi, kilit kaybedilmiş: key={}", key);
+            }
+        } catch (Exception e) {
+            log.warn("Idempotency kilidi yenilenirken hata: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    // Anahtar bu instance adına kilitlenirse null, aksi halde mevcut kayıt döner
+    private IdempotencyRecord acquire(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(key);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setLockedBy(instanceId);
+        record.setLockedUntil(now.plus(lockDuration));
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(retention));
+        try {
+            mongoTemplate.insert(record);
+            return null;
+        } catch (DuplicateKeyException e) {
+            log.debug("Idempotency-Key zaten kayıtlı: key={}", key);
+        }
+        
+        // Kilidi süresi dolmuş (instance çökmüş) kayıt devralınır
+        Query stale = new Query(Criteria.where("id").is(key)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                .and("requestHash").is(requestHash)
+                .and("lockedUntil").lt(now));
+        Update takeOver = new Update()
+                .set("lockedBy", instanceId)
+                .set("lockedUntil", now.plus(lockDuration));
+        if (mongoTemplate.findAndModify(stale, takeOver, options().returnNew(true), IdempotencyRecord.class) != null) {
+            log.info("Süresi dolmuş idempotency kilidi devralındı: key={}", key);
+            return null;
+        }
+        
+        IdempotencyRecord existing = mongoTemplate.findById(key, IdempotencyRecord.class);
+        if (existing == null) {
+            // Kayıt arada silindi (önceki deneme hata aldı); yeniden dene
+            return acquire(key, requestHash);
+        }
+        return existing;
+    }
+
+    // Yanıt yalnızca kilit hâlâ bu instance'taysa yazılır; kilidi devralan instance'ın yanıtı ezilmez.
+    // Yanıt saklanamazsa null döner ve bellekteki önbelleğe de konmaz.
+    private IdempotencyRecord complete(String key, String requestHash, ResponseEntity<?> response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(key);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponseStatus(response.getStatusCode().value());
+        record.setResponseBody(serialize(response.getBody()));
+        if (response.getHeaders().getLocation() != null) {
+            record.setResponseLocation(response.getHeaders().getLocation().toString());
+        }
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(LocalDateTime.now().plus(retention));
+        Update update = new Update()
+                .set("status", record.getStatus())
+                .set("responseStatus", record.getResponseStatus())
+                .set("responseBody", record.getResponseBody())
+                .set("responseLocation", record.getResponseLocation())
+                .set("createdAt", record.getCreatedAt())
+                .set("expiresAt", record.getExpiresAt())
+                .unset("lockedBy")
+                .unset("lockedUntil");
+        try {
+            long stored = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(key)
+                            .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                            .and("lockedBy").is(instanceId)),
+                    update, IdempotencyRecord.class).getMatchedCount();
+            if (stored == 0) {
+                log.warn("Idempotency kilidi başka bir instance'a geçmiş, yanıt saklanmadı: key={}", key);
+                return null;
+            }
+        } catch (Exception e) {
+            // Yanıt istemciye yine de döner; kayıt yalnızca bellekte kalır
+            log.error("Idempotency yanıtı kaydedilemedi: key={}, error={}", key, e.getMessage(), e);
+        }
+        return record;
+    }
+
+    private ResponseEntity<?> awaitInFlight(String key, InFlight existing, String requestHash) {
+        if (!existing.requestHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        meterRegistry.counter("order.idempotency.requests", "result", "coalesced").increment();
+        log.info("Eşzamanlı tekrar isteği devam eden işleme bağlandı: key={}", key);
+        try {
+            return existing.future.get(lockDuration.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(key);
+        }
+    }
+
+    private ResponseEntity<?> replay(String key, IdempotencyRecord record, String requestHash, String source) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        meterRegistry.counter("order.idempotency.requests", "result", "replayed").increment();
+        log.info("Idempotency yanıtı tekrar döndürülüyor: key={}, status={}, source={}", key, record.getResponseStatus(), source);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getResponseStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true");
+        if (record.getResponseLocation() != null) {
+            builder.location(URI.create(record.getResponseLocation()));
+        }
+        return builder.body(record.getResponseBody());
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("İstek özeti hesaplanamadı: " + e.getMessage(), e);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Yanıt serileştirilemedi: " + e.getMessage(), e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<ResponseEntity<?>> future) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.event.OrderCreatedEvent;
+import com.eticaret.order.event.OrderStatusChangedEvent;
+import com.eticaret.order.model.AnalyticsOrderState;
+import com.eticaret.order.model.DailySales;
+import com.eticaret.order.model.Money;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderItem;
+import com.eticaret.order.model.OrderStatus;
+import com.eticaret.order.model.ProductSales;
+import com.eticaret.order.model.StatusSales;
+import com.eticaret.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sipariş olaylarını analitik görünümlere ($inc) uygular. Her sipariş order_stats_orders'ta bir kez kaydedilir;
+// aynı olay tekrar gelirse sayılmaz. Durum olayı oluşturma olayından önce gelirse sipariş dokümandan kaydedilir.
+// Durum olayları yalnızca uygulanan son olaydan yeniyse işlenir (topic'ler arası sıra garanti değildir).
+// Geçici hatalar listener'a iletilir; olay tekrar teslim edilir.
+@Slf4j
+@Component
+public class OrderAnalyticsProjector {
+
+    // Yarıda kalan (applied=false) bir kaydın başka bir işlem tarafından devralınabileceği süre
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderRepository orderRepository;
+    private final ZoneId zone;
+
+    public OrderAnalyticsProjector(MongoTemplate mongoTemplate,
+                                   OrderRepository orderRepository,
+                                   @Value("${order.analytics.zone:Europe/Istanbul}") String zone) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderRepository = orderRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    public void recordCreated(OrderCreatedEvent event) {
+        if (event.totalAmount() == null || event.occurredAt() == 0) {
+            // Eski formattaki olay: bilgiler sipariş dokümanından alınır
+            orderRepository.findById(event.orderId()).ifPresent(order -> record(OrderFacts.of(order, zone)));
+            return;
+        }
+        record(OrderFacts.of(event, zone));
+    }
+
+    public void recordStatusChange(OrderStatusChangedEvent event) {
+        OrderStatus target = event.status();
+        Criteria applicable = Criteria.where("_id").is(event.orderId()).and("status").ne(target).and("applied").ne(false);
+        Update update = new Update().set("status", target);
+        if (event.occurredAt() > 0) {
+            // Eski formattaki olaylarda zaman yoktur; bunlar için yalnızca durum koşulu uygulanır
+            applicable.orOperator(Criteria.where("lastEventAt").lt(event.occurredAt()), Criteria.where("lastEventAt").exists(false));
+            update.set("lastEventAt", event.occurredAt());
+        }
+        AnalyticsOrderState previous = mongoTemplate.findAndModify(new Query(applicable), update, AnalyticsOrderState.class);
+        if (previous == null) {
+            AnalyticsOrderState current = mongoTemplate.findById(event.orderId(), AnalyticsOrderState.class);
+            if (current == null) {
+                // Oluşturma olayı henüz işlenmedi; sipariş güncel haliyle kaydedilir, oluşturma olayı sonra atlanır
+                orderRepository.findById(event.orderId()).ifPresent(order -> record(OrderFacts.of(order, zone)));
+            } else if (Boolean.FALSE.equals(current.getApplied())) {
+                throw new IllegalStateException("Sipariş analitiğe henüz uygulanmadı, olay tekrar denenecek: orderId="
+                        + event.orderId());
+            } else {
+                log.debug("Eski ya da tekrar gelen durum olayı atlandı: orderId={}, status={}, occurredAt={}",
+                        event.orderId(), target, event.occurredAt());
+            }
+            return;
+        }
+
+        incStatus(previous.getStatus(), -1, -previous.getTotalMinor());
+        incStatus(target, 1, previous.getTotalMinor());
+        if (target == OrderStatus.CANCELLED) {
+            incCancelled(previous.getDay(), 1, previous.getTotalMinor());
+        } else if (previous.getStatus() == OrderStatus.CANCELLED) {
+            incCancelled(previous.getDay(), -1, -previous.getTotalMinor());
+        }
+        log.debug("Analitik durum güncellendi: orderId={}, {} → {}", event.orderId(), previous.getStatus(), target);
+    }
+
+    // Kayıt önce applied=false ile sahiplenilir, sayaçlar artırılır, sonra uygulanmış işaretlenir. Sayaçlardan biri
+    // başarısız olursa kayıt uygulanmamış kalır ve tekrar teslim edilen olay (süre dolunca) kaydı devralıp yeniden uygular.
+    private void record(OrderFacts facts) {
+        try {
+            mongoTemplate.insert(new AnalyticsOrderState(facts.orderId(), facts.status(), facts.totalMinor(), facts.day(),
+                    facts.eventAt(), false, LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            if (!takeOverStaleClaim(facts)) {
+                log.debug("Sipariş analitiğe zaten kaydedilmiş: orderId={}", facts.orderId());
+                return;
+            }
+        }
+
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(facts.day())),
+                new Update().inc("orderCount", 1).inc("revenueMinor", facts.totalMinor()), DailySales.class);
+        incStatus(facts.status(), 1, facts.totalMinor());
+        if (facts.status() == OrderStatus.CANCELLED) {
+            incCancelled(facts.day(), 1, facts.totalMinor());
+        }
+
+        if (!facts.products().isEmpty()) {
+            BulkOperations products = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductSales.class);
+            facts.products().forEach((productId, line) -> products.upsert(
+                    new Query(Criteria.where("_id").is(productId)),
+                    new Update().set("productName", line.productName())
+                            .inc("quantity", line.quantity())
+                            .inc("revenueMinor", line.revenueMinor())
+                            .inc("orderCount", 1)));
+            products.execute();
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(facts.orderId())),
+                new Update().set("applied", true), AnalyticsOrderState.class);
+        log.debug("Sipariş analitiğe kaydedildi: orderId={}, day={}, status={}", facts.orderId(), facts.day(), facts.status());
+    }
+
+    // Kayıt varsa: uygulanmışsa false döner; yarıda kalmışsa ve süresi dolmuşsa devralınır (true), sürüyorsa
+    // olay tekrar denenmek üzere hata fırlatılır
+    private boolean takeOverStaleClaim(OrderFacts facts) {
+        LocalDateTime now = LocalDateTime.now();
+        AnalyticsOrderState taken = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(facts.orderId()).and("applied").is(false)
+                        .and("claimedAt").lt(now.minus(CLAIM_TIMEOUT))),
+                new Update().set("status", facts.status())
+                        .set("totalMinor", facts.totalMinor())
+                        .set("day", facts.day())
+                        .set("lastEventAt", facts.eventAt())
+                        .set("claimedAt", now),
+                AnalyticsOrderState.class);
+        if (taken != null) {
+            log.warn("Yarıda kalan sipariş analitiği yeniden uygulanıyor: orderId={}", facts.orderId());
+            return true;
+        }
+        AnalyticsOrderState current = mongoTemplate.findById(facts.orderId(), AnalyticsOrderState.class);
+        if (current != null && Boolean.FALSE.equals(current.getApplied())) {
+            throw new IllegalStateException("Sipariş analitiği başka bir işlemde uygulanıyor, olay tekrar denenecek: orderId="
+                    + facts.orderId());
+        }
+        return false;
+    }
+
+    private void incStatus(OrderStatus status, long orders, long revenueMinor) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(status.name())),
+                new Update().inc("orderCount", orders).inc("revenueMinor", revenueMinor), StatusSales.class);
+    }
+
+    private void incCancelled(String day, long orders, long revenueMinor) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(day)),
+                new Update().inc("cancelledCount", orders).inc("cancelledRevenueMinor", revenueMinor), DailySales.class);
+    }
+
+    // Görünümlere yazılan sipariş bilgileri; ürün kalemleri ürün başına birleştirilir
+    private record OrderFacts(Long orderId, OrderStatus status, long totalMinor, String day, long eventAt,
+                              Map<String, ProductLine> products) {
+
+        static OrderFacts of(OrderCreatedEvent event, ZoneId zone) {
+            Map<String, ProductLine> products = new LinkedHashMap<>();
+            if (event.items() != null) {
+                event.items().forEach(line -> merge(products, line.productId(), line.productName(),
+                        line.quantity(), line.lineTotalMinor()));
+            }
+            String day = LocalDate.ofInstant(Instant.ofEpochMilli(event.occurredAt()), zone).toString();
+            return new OrderFacts(event.orderId(), event.status(), Money.of(event.totalAmount()).minorUnits(), day,
+                    event.occurredAt(), products);
+        }
+
+        static OrderFacts of(Order order, ZoneId zone) {
+            Map<String, ProductLine> products = new LinkedHashMap<>();
+            List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
+            items.forEach(item -> merge(products, item.getProductId(), item.getProductName(),
+                    item.getQuantity(), item.getLineTotalMinor()));
+            // createdAt ve updatedAt sunucu saat diliminde saklanır; dokümandaki durum updatedAt anındaki durumdur
+            String day = order.getCreatedAt().atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDate().toString();
+            long eventAt = order.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return new OrderFacts(order.getId(), order.getStatus(), Money.of(order.getTotalAmount()).minorUnits(), day,
+                    eventAt, products);
+        }
+
+        private static void merge(Map<String, ProductLine> products, String productId, String productName,
+                                  Integer quantity, Long lineTotalMinor) {
+            ProductLine line = new ProductLine(productName, quantity != null ? quantity : 0,
+                    lineTotalMinor != null ? lineTotalMinor : 0);
+            products.merge(productId, line, (a, b) ->
+                    new ProductLine(b.productName(), a.quantity() + b.quantity(), a.revenueMinor() + b.revenueMinor()));
+        }
+    }
+
+    private record ProductLine(String productName, long quantity, long revenueMinor) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.eticaret.order.repository.ArchiveAwareOrderRepositoryImpl.ARCHIVE_COLLECTION;
+
+// Son durumdaki (DELIVERED/CANCELLED) eski siparişleri sıkıştırılmış arşiv koleksiyonuna taşır; sıcak koleksiyon ve
+// index'leri geçmişin uzunluğundan bağımsız olarak yalnızca son dönemin siparişlerini tutar.
+// Önce arşive yazılır, sonra sıcak koleksiyondan silinir; yarıda kalan taşıma sonraki çalışmada tamamlanır.
+@Slf4j
+@Component
+public class OrderArchiver {
+
+    private static final List<OrderStatus> FINAL_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archivedCounter;
+
+    public OrderArchiver(MongoTemplate mongoTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${order.archive.enabled:true}") boolean enabled,
+                         @Value("${order.archive.after-days:90}") long archiveAfterDays,
+                         @Value("${order.archive.batch-size:500}") int batchSize,
+                         @Value("${order.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.archiveAfter = Duration.ofDays(archiveAfterDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archivedCounter = meterRegistry.counter("order.archive.moved");
+    }
+
+    @Scheduled(fixedDelayString = "${order.archive.interval-ms:3600000}", initialDelayString = "${order.archive.initial-delay-ms:60000}")
+    public void archiveOldOrders() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = archiveBatch(cutoff);
+                total += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Siparişler arşive taşındı: count={}, cutoff={}", total, cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Sipariş arşivleme sırasında hata: {}", e.getMessage(), e);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Query candidates = new Query(Criteria.where("createdAt").lt(cutoff).and("status").in(FINAL_STATUSES))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        List<Order> orders = mongoTemplate.find(candidates, Order.class);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        // Aynı siparişi iki instance taşısa da arşivde tek kopya kalır
+        BulkOperations archive = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class, ARCHIVE_COLLECTION);
+        orders.forEach(order -> archive.replaceOne(new Query(Criteria.where("_id").is(order.getId())), order,
+                FindAndReplaceOptions.options().upsert()));
+        archive.execute();
+
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        long removed = mongoTemplate.remove(
+                new Query(Criteria.where("_id").in(ids).and("status").in(FINAL_STATUSES)), Order.class).getDeletedCount();
+        archivedCounter.increment(removed);
+        log.debug("Arşivleme grubu tamamlandı: archived={}, removed={}", orders.size(), removed);
+        return orders.size();
+    }
+}
@@ -0,0 +1,364 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.dto.BulkOrderResultDTO;
+import com.eticaret.order.dto.OrderItemDTO;
+import com.eticaret.order.dto.OrderRequestDTO;
+import com.eticaret.order.dto.ProductDTO;
+import com.eticaret.order.exception.ServiceUnavailableException;
+import com.eticaret.order.mapper.OrderMapper;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderItem;
+import com.eticaret.order.service.OrderCreationStages.Reservation;
+import com.eticaret.order.service.OrderCreationStages.ValidationResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+// NDJSON toplu sipariş içe aktarma. Gövde satır satır okunur ve chunk-size siparişlik gruplar halinde işlenir:
+// kullanıcılar önbellekten, ürünler tek toplu sorguyla doğrulanır; grubun tüm kalemleri tek istekte rezerve edilir
+// ve siparişler tek unordered bulk insert ile yazılır. Her satırın sonucu grup bitince yanıta yazılır;
+// ne istek ne de yanıt bellekte tamamen tutulur.
+@Slf4j
+@Component
+public class OrderBulkImporter {
+
+    private static final String TOPIC = "order-created";
+
+    private final OrderCreationStages orderCreationStages;
+    private final UserExistenceCache userExistenceCache;
+    private final OutboxService outboxService;
+    private final OrderMapper orderMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor orderValidationExecutor;
+    private final int chunkSize;
+    private final int maxLineLength;
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+
+    public OrderBulkImporter(OrderCreationStages orderCreationStages,
+                             UserExistenceCache userExistenceCache,
+                             OutboxService outboxService,
+                             OrderMapper orderMapper,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("orderValidationExecutor") ThreadPoolTaskExecutor orderValidationExecutor,
+                             @Value("${order.bulk.chunk-size:500}") int chunkSize,
+                             @Value("${order.bulk.max-line-length:65536}") int maxLineLength) {
+        this.orderCreationStages = orderCreationStages;
+        this.userExistenceCache = userExistenceCache;
+        this.outboxService = outboxService;
+        this.orderMapper = orderMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.orderValidationExecutor = orderValidationExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxLineLength = Math.max(1, maxLineLength);
+        this.createdCounter = meterRegistry.counter("order.bulk.orders", "result", "created");
+        this.failedCounter = meterRegistry.counter("order.bulk.orders", "result", "failed");
+        this.chunkTimer = Timer.builder("order.bulk.chunk")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void importOrders(InputStream body, OutputStream results) throws IOException {
+        LineReader reader = new LineReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), maxLineLength);
+        List<BulkLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long total = 0;
+        long created = 0;
+        while (reader.next()) {
+            lineNumber++;
+            if (reader.tooLong) {
+                BulkLine line = new BulkLine(lineNumber);
+                line.fail(HttpStatus.PAYLOAD_TOO_LARGE, "Satır çok uzun: en fazla " + maxLineLength + " karakter");
+                chunk.add(line);
+            } else if (reader.line.toString().isBlank()) {
+                continue;
+            } else {
+                chunk.add(parse(lineNumber, reader.line.toString()));
+            }
+            if (chunk.size() == chunkSize) {
+                total += chunk.size();
+                created += processChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            total += chunk.size();
+            created += processChunk(chunk, results);
+        }
+        log.info("Toplu sipariş içe aktarma tamamlandı: orders={}, created={}, failed={}", total, created, total - created);
+    }
+
+    private BulkLine parse(long lineNumber, String json) {
+        BulkLine line = new BulkLine(lineNumber);
+        OrderRequestDTO request;
+        try {
+            request = objectMapper.readValue(json, OrderRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            line.fail(HttpStatus.BAD_REQUEST, "Geçersiz JSON: " + e.getOriginalMessage());
+            return line;
+        }
+
+        Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            line.fail(HttpStatus.BAD_REQUEST, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+            return line;
+        }
+        for (OrderItemDTO item : request.getItems()) {
+            if (item == null || item.getProductId() == null || item.getQuantity() == null || item.getQuantity() < 1) {
+                line.fail(HttpStatus.BAD_REQUEST, "Geçersiz sipariş kalemi: productId ve en az 1 adet zorunludur");
+                return line;
+            }
+        }
+        line.order = orderMapper.toEntity(request);
+        return line;
+    }
+
+    // Grubu işler ve sonuçları satır sırasıyla yazar; oluşturulan sipariş sayısını döner
+    private long processChunk(List<BulkLine> chunk, OutputStream results) throws IOException {
+        Timer.Sample sample = Timer.start();
+        List<BulkLine> pending = pending(chunk);
+        try {
+            if (!pending.isEmpty()) {
+                verifyUsers(pending);
+                priceOrders(pending(pending));
+                reserve(pending(pending));
+                persist(pending(pending));
+            }
+        } catch (ServiceUnavailableException e) {
+            // Bağımlı servis grubun tamamı için kullanılamıyor; rezervasyon yapılmadan önce fırlatılır
+            log.warn("Toplu sipariş grubu işlenemedi: size={}, error={}", chunk.size(), e.getMessage());
+            pending(pending).forEach(line -> line.fail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+        }
+        sample.stop(chunkTimer);
+
+        long created = 0;
+        for (BulkLine line : chunk) {
+            if (line.result == null) {
+                line.fail(HttpStatus.INTERNAL_SERVER_ERROR, "Sipariş işlenemedi");
+            }
+            if ("CREATED".equals(line.result.getStatus())) {
+                created++;
+            }
+            results.write(objectMapper.writeValueAsBytes(line.result));
+            results.write('\n');
+        }
+        results.flush();
+        createdCounter.increment(created);
+        failedCounter.increment(chunk.size() - created);
+        return created;
+    }
+
+    // Farklı kullanıcılar paralel doğrulanır; tekrar eden alıcılar önbellekten döner
+    private void verifyUsers(List<BulkLine> lines) {
+        Map<Long, CompletableFuture<Boolean>> checks = new LinkedHashMap<>();
+        for (BulkLine line : lines) {
+            checks.computeIfAbsent(line.order.getUserId(), userId -> CompletableFuture.supplyAsync(
+                    () -> userExistenceCache.exists(userId), orderValidationExecutor));
+        }
+        for (BulkLine line : lines) {
+            Long userId = line.order.getUserId();
+            try {
+                if (!checks.get(userId).join()) {
+                    line.fail(HttpStatus.NOT_FOUND, "Kullanıcı bulunamadı: " + userId);
+                }
+            } catch (CompletionException e) {
+                Exception cause = e.getCause() instanceof Exception c ? c : e;
+                line.fail(OrderIntakePipeline.errorStatus(cause), cause.getMessage());
+            }
+        }
+    }
+
+    // Grubun tüm ürünleri tek sorguda alınır
+    private void priceOrders(List<BulkLine> lines) {
+        Set<String> productIds = new LinkedHashSet<>();
+        lines.forEach(line -> line.order.getItems().forEach(item -> productIds.add(item.getProductId())));
+        Map<String, ProductDTO> products = productIds.isEmpty() ? Map.of() : orderCreationStages.findProducts(productIds);
+
+        for (BulkLine line : lines) {
+            String missing = null;
+            for (OrderItem item : line.order.getItems()) {
+                if (!products.containsKey(item.getProductId())) {
+                    missing = item.getProductId();
+                    break;
+                }
+            }
+            if (missing != null) {
+                line.fail(HttpStatus.NOT_FOUND, "Ürün bulunamadı: " + missing);
+                continue;
+            }
+            try {
+                line.validation = new ValidationResult(products, OrderCreationStages.requestedQuantities(line.order));
+                orderCreationStages.price(line.order, line.validation);
+                orderCreationStages.assignId(line.order);
+            } catch (RuntimeException e) {
+                line.fail(e instanceof ArithmeticException ? HttpStatus.BAD_REQUEST : OrderIntakePipeline.errorStatus(e),
+                        e.getMessage());
+            }
+        }
+    }
+
+    // Önce grubun tüm kalemleri tek istekte rezerve edilir. Bir kalem yetersizse Stock Service hiçbirini uygulamaz;
+    // bu durumda yalnızca sorunlu siparişlerin düşmesi için siparişler tek tek (paralel) rezerve edilir.
+    private void reserve(List<BulkLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> quantities = new HashMap<>();
+        lines.forEach(line -> line.validation.requestedQuantities().forEach((productId, quantity) ->
+                quantities.merge(productId, quantity, Integer::sum)));
+
+        Map<String, Long> stockIds = orderCreationStages.reserveCombined(quantities);
+        if (stockIds != null) {
+            for (BulkLine line : lines) {
+                line.reservations = new ArrayList<>();
+                line.validation.requestedQuantities().forEach((productId, quantity) ->
+                        line.reservations.add(new Reservation(productId, stockIds.get(productId), quantity)));
+                line.order.getItems().forEach(item -> item.setStockId(stockIds.get(item.getProductId())));
+            }
+            return;
+        }
+
+        log.info("Toplu rezervasyon uygulanamadı, siparişler tek tek rezerve ediliyor: orders={}", lines.size());
+        Map<BulkLine, CompletableFuture<List<Reservation>>> futures = new LinkedHashMap<>();
+        for (BulkLine line : lines) {
+            futures.put(line, CompletableFuture.supplyAsync(
+                    () -> orderCreationStages.reserve(line.order, line.validation), orderValidationExecutor));
+        }
+        futures.forEach((line, future) -> {
+            try {
+                line.reservations = future.join();
+            } catch (CompletionException e) {
+                Exception cause = e.getCause() instanceof Exception c ? c : e;
+                line.fail(OrderIntakePipeline.errorStatus(cause), cause.getMessage());
+            }
+        });
+    }
+
+    private void persist(List<BulkLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        List<Order> orders = new ArrayList<>(lines.size());
+        lines.forEach(line -> orders.add(line.order));
+
+        // insertAllWithEvents yalnızca siparişler yazılamadığında hata verir; olay yazımı hatası siparişleri düşürmez
+        Set<Long> insertedIds = new HashSet<>();
+        try {
+            outboxService.insertAllWithEvents(orders, TOPIC).forEach(order -> insertedIds.add(order.getId()));
+        } catch (RuntimeException e) {
+            log.error("Toplu sipariş yazımı başarısız: orders={}, error={}", orders.size(), e.getMessage(), e);
+        }
+
+        for (BulkLine line : lines) {
+            if (insertedIds.contains(line.order.getId())) {
+                line.result = new BulkOrderResultDTO(line.lineNumber, "CREATED", line.order.getId(),
+                        line.order.getTotalAmount(), null, null);
+            } else {
+                // Yazılamayan siparişin rezervasyonu geri alınır (başarısız olursa tekrar denenir)
+                orderCreationStages.releaseReservations(line.order.getId(), line.reservations);
+                line.fail(HttpStatus.INTERNAL_SERVER_ERROR, "Sipariş kaydedilemedi");
+            }
+        }
+    }
+
+    private static List<BulkLine> pending(List<BulkLine> lines) {
+        List<BulkLine> pending = new ArrayList<>(lines.size());
+        for (BulkLine line : lines) {
+            if (line.result == null) {
+                pending.add(line);
+            }
+        }
+        return pending;
+    }
+
+    // BufferedReader.readLine satırı sınırsız biriktirir; burada sınırı aşan satırın geri kalanı tutulmadan atlanır
+    private static final class LineReader {
+        private final BufferedReader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean tooLong;
+
+        private LineReader(BufferedReader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        // Sonraki satırı okur; akış bittiyse false döner
+        private boolean next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            int c = reader.read();
+            if (c == -1) {
+                return false;
+            }
+            while (c != -1 && c != '\n') {
+                if (!tooLong) {
+                    // Sınırdaki satırın \r\n sonu için tek \r'a izin verilir
+                    if (line.length() > maxLength || (line.length() == maxLength && c != '\r')) {
+                        tooLong = true;
+                        line.setLength(0);
+                    } else {
+                        line.append((char) c);
+                    }
+                }
+                c = reader.read();
+            }
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return true;
+        }
+    }
+
+    private static final class BulkLine {
+        private final long lineNumber;
+        private Order order;
+        private ValidationResult validation;
+        private List<Reservation> reservations = List.of();
+        private BulkOrderResultDTO result;
+
+        private BulkLine(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        private void fail(HttpStatus status, String message) {
+            result = new BulkOrderResultDTO(lineNumber, "FAILED", null, null, status.value(), message);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.client.ProductServiceClient;
+import com.eticaret.order.client.StockServiceClient;
+import com.eticaret.order.dto.ProductBatchRequestDTO;
+import com.eticaret.order.dto.ProductDTO;
+import com.eticaret.order.dto.StockReleaseItemDTO;
+import com.eticaret.order.dto.StockReservationItemDTO;
+import com.eticaret.order.dto.StockReservationLineDTO;
+import com.eticaret.order.dto.StockReservationRequestDTO;
+import com.eticaret.order.dto.StockReservationResponseDTO;
+import com.eticaret.order.exception.InsufficientStockException;
+import com.eticaret.order.exception.ResourceNotFoundException;
+import com.eticaret.order.exception.ServiceUnavailableException;
+import com.eticaret.order.model.Money;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderItem;
+import com.eticaret.order.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Sipariş oluşturma adımları (id → validate → price → reserve → persist).
+// Senkron createOrder akışı ve asenkron OrderIntakePipeline aynı adımları kullanır.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCreationStages {
+
+    private final UserExistenceCache userExistenceCache;
+    private final ProductServiceClient productServiceClient;
+    private final StockServiceClient stockServiceClient;
+    private final SequenceService sequenceService;
+    private final OutboxService outboxService;
+    private final StockReleaseService stockReleaseService;
+    private final ProductCatalogReplica productCatalogReplica;
+    @Qualifier("productLookupFlight")
+    private final SingleFlight<String, ProductDTO> productLookupFlight;
+    @Qualifier("orderValidationExecutor")
+    private final ThreadPoolTaskExecutor orderValidationExecutor;
+
+    private static final int MAX_PRODUCT_BATCH = 1000;
+
+    public void assignId(Order order) {
+        try {
+            Long newId = sequenceService.getNextSequence("order_sequence");
+            order.setId(newId);
+            log.debug("Sipariş ID'si oluşturuldu: id={}", newId);
+        } catch (Exception e) {
+            log.error("Sipariş ID'si oluşturulamadı: {}", e.getMessage(), e);
+            throw new RuntimeException("Sipariş ID'si oluşturulamadı: " + e.getMessage());
+        }
+    }
+
+    public ValidationResult validate(Order order) {
+        CompletableFuture<Long> userFuture = CompletableFuture.supplyAsync(
+                () -> verifyUser(order.getUserId()), orderValidationExecutor);
+        
+        // Aynı ürün birden fazla kalemde olabilir; ürünler tek toplu çağrıyla alınır
+        Set<String> productIds = new LinkedHashSet<>();
+        order.getItems().forEach(item -> productIds.add(item.getProductId()));
+        CompletableFuture<Map<String, ProductDTO>> productsFuture = CompletableFuture.supplyAsync(
+                () -> fetchProducts(productIds), orderValidationExecutor);
+        
+        awaitAll(List.of(userFuture, productsFuture));
+        
+        // Hatalar kullanıcı → ürün sırasıyla raporlanır
+        Long userId = join(userFuture);
+        log.info("Kullanıcı doğrulandı: userId={}", userId);
+        Map<String, ProductDTO> products = join(productsFuture);
+        
+        return new ValidationResult(products, requestedQuantities(order));
+    }
+
+    // Birim fiyatlar ürün başına bir kez kuruşa çevrilir; satır ve sipariş toplamları long üzerinde hesaplanır
+    public void price(Order order, ValidationResult validation) {
+        Map<String, Money> unitPrices = new HashMap<>();
+        Money totalAmount = Money.ZERO;
+        for (OrderItem item : order.getItems()) {
+            ProductDTO product = validation.products().get(item.getProductId());
+            Money unitPrice = unitPrices.computeIfAbsent(item.getProductId(), id -> Money.of(product.getPrice()));
+            Money lineTotal = unitPrice.times(item.getQuantity());
+            item.setProductName(product.getName());
+            item.setUnitPriceMinor(unitPrice.minorUnits());
+            item.setLineTotalMinor(lineTotal.minorUnits());
+            totalAmount = totalAmount.plus(lineTotal);
+        }
+        
+        order.setTotalAmount(totalAmount.toBigDecimal());
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // Tüm kalemler tek istekte, hepsi ya da hiçbiri prensibiyle rezerve edilir
+    public List<Reservation> reserve(Order order, ValidationResult validation) {
+        StockReservationResponseDTO response = requestReservation(order.getId(), validation.requestedQuantities());
+        
+        if (!response.isReserved()) {
+            // Stock Service uygulanmış rezervasyonları geri almıştır; ilk başarısız kalem raporlanır
+            releaseLeftovers(order.getId(), response);
+            for (StockReservationLineDTO line : response.getLines()) {
+                if ("NOT_FOUND".equals(line.getStatus())) {
+                    log.warn("Ürün için stok bulunamadı: productId={}", line.getProductId());
+                    throw new ResourceNotFoundException("Ürün için stok bulunamadı: " + line.getProductId());
+                }
+                if ("INSUFFICIENT_STOCK".equals(line.getStatus())) {
+                    String productName = validation.products().get(line.getProductId()).getName();
+                    log.warn("Yetersiz stok: productId={}, productName={}, available={}, requested={}", 
+                            line.getProductId(), productName, line.getAvailableQuantity(), line.getQuantity());
+                    throw new InsufficientStockException(productName, line.getAvailableQuantity(), line.getQuantity());
+                }
+            }
+            throw new ServiceUnavailableException("Stock Service", "Stok rezerve edilemedi");
+        }
+        
+        List<Reservation> reservations = new ArrayList<>();
+        Map<String, Long> stockIds = new LinkedHashMap<>();
+        for (StockReservationLineDTO line : response.getLines()) {
+            reservations.add(new Reservation(line.getProductId(), line.getStockId(), line.getQuantity()));
+            stockIds.put(line.getProductId(), line.getStockId());
+            log.info("Stok rezerve edildi: productId={}, quantity={}", line.getProductId(), line.getQuantity());
+        }
+        // İptalde stok sorgusu yapılmadan serbest bırakılabilmesi için rezervasyon kalemlere yazılır
+        order.getItems().forEach(item -> item.setStockId(stockIds.get(item.getProductId())));
+        return reservations;
+    }
+
+    // Toplu içe aktarmada birden fazla siparişin kalemleri tek istekte rezerve edilir. Herhangi bir kalem
+    // rezerve edilemezse Stock Service hiçbirini uygulamaz ve null döner; çağıran siparişleri tek tek dener.
+    public Map<String, Long> reserveCombined(Map<String, Integer> quantities) {
+        StockReservationResponseDTO response = requestReservation(null, quantities);
+        if (!response.isReserved()) {
+            releaseLeftovers(null, response);
+            return null;
+        }
+        Map<String, Long> stockIds = new HashMap<>();
+        response.getLines().forEach(line -> stockIds.put(line.getProductId(), line.getStockId()));
+        return stockIds;
+    }
+
+    // Başarısız rezervasyonda Stock Service'in geri alamadığı kalemler RESERVED kalır; bunlar serbest bırakılır
+    // (Stock Service'e ulaşılamazsa StockReleaseService isteği tekrar deneme kuyruğuna alır)
+    private void releaseLeftovers(Long orderId, StockReservationResponseDTO response) {
+        List<StockReleaseItemDTO> leftovers = new ArrayList<>();
+        for (StockReservationLineDTO line : response.getLines()) {
+            if ("RESERVED".equals(line.getStatus())) {
+                leftovers.add(new StockReleaseItemDTO(line.getStockId(), line.getQuantity()));
+            }
+        }
+        if (!leftovers.isEmpty()) {
+            log.warn("Geri alınamayan rezervasyonlar serbest bırakılıyor: orderId={}, lines={}", orderId, leftovers.size());
+            stockReleaseService.release(orderId, "reservation-rollback-" + UUID.randomUUID(), leftovers);
+        }
+    }
+
+    private StockReservationResponseDTO requestReservation(Long orderId, Map<String, Integer> quantities) {
+        List<StockReservationItemDTO> items = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> items.add(new StockReservationItemDTO(productId, quantity)));
+        
+        StockReservationResponseDTO response;
+        try {
+            response = stockServiceClient.reserveStocks(new StockReservationRequestDTO(items));
+        } catch (Exception e) {
+            log.error("Stok rezerve edilemedi: orderId={}, error={}", orderId, e.getMessage(), e);
+            throw new ServiceUnavailableException("Stock Service", e.getMessage());
+        }
+        if (response == null || response.getLines() == null) {
+            throw new ServiceUnavailableException("Stock Service", "Rezervasyon yanıtı alınamadı");
+        }
+        return response;
+    }
+
+    // Sipariş ve order-created olayı birlikte yazılır; Kafka'ya gönderimi OutboxRelay yapar.
+    // saveWithEvent yalnızca sipariş yazılamadığında hata verir; yalnızca o durumda rezervasyonlar geri alınır.
+    public Order persist(Order order, List<Reservation> reservations) {
+        try {
+            return outboxService.saveWithEvent(order, "order-created");
+        } catch (RuntimeException e) {
+            log.error("Sipariş kaydedilemedi, rezervasyonlar geri alınıyor: orderId={}, error={}", order.getId(), e.getMessage(), e);
+            releaseReservations(order.getId(), reservations);
+            throw e;
+        }
+    }
+
+    public void releaseReservations(Long orderId, List<Reservation> reservations) {
+        List<StockReleaseItemDTO> items = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            items.add(new StockReleaseItemDTO(reservation.stockId(), reservation.quantity()));
+        }
+        if (stockReleaseService.release(orderId, StockReleaseService.releaseId(orderId, "rollback"), items)) {
+            log.info("Rezervasyonlar geri alındı: orderId={}, lines={}", orderId, items.size());
+        }
+    }
+
+    private Long verifyUser(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            log.warn("Kullanıcı bulunamadı: userId={}", userId);
+            throw new ResourceNotFoundException("Kullanıcı", userId);
+        }
+        return userId;
+    }
+
+    private Map<String, ProductDTO> fetchProducts(Set<String> productIds) {
+        Map<String, ProductDTO> products = findProducts(productIds);
+        for (String productId : productIds) {
+            if (!products.containsKey(productId)) {
+                log.warn("Ürün bulunamadı: productId={}", productId);
+                throw new ResourceNotFoundException("Ürün bulunamadı: " + productId);
+            }
+        }
+        return products;
+    }
+
+    // Ürünler önce yerel kopyadan okunur; yalnızca kopyada olmayanlar için Product Service'e toplu çağrı yapılır.
+    // Aynı ürün için devam eden bir sorgu varsa yeni çağrı yapılmaz, onun sonucu beklenir.
+    // Bulunamayan ürünler sonuçta yer almaz.
+    public Map<String, ProductDTO> findProducts(Collection<String> productIds) {
+        Map<String, ProductDTO> products = productCatalogReplica.lookup(productIds);
+        if (products.size() == productIds.size()) {
+            log.debug("Ürün bilgileri yerel kopyadan alındı: count={}", products.size());
+            return products;
+        }
+        
+        List<String> missingIds = new ArrayList<>();
+        for (String productId : productIds) {
+            if (!products.containsKey(productId)) {
+                missingIds.add(productId);
+            }
+        }
+        Map<String, ProductDTO> found = productLookupFlight.executeAll(missingIds, this::requestProducts);
+        products.putAll(found);
+        log.debug("Ürün bilgileri alındı: replicaHits={}, fetched={}", productIds.size() - missingIds.size(), found.size());
+        return products;
+    }
+
+    // Product Service toplu sorguda en fazla MAX_PRODUCT_BATCH ürün kabul eder; fazlası parçalara bölünür
+    private Map<String, ProductDTO> requestProducts(List<String> productIds) {
+        Map<String, ProductDTO> products = new HashMap<>();
+        for (int from = 0; from < productIds.size(); from += MAX_PRODUCT_BATCH) {
+            List<String> batch = productIds.subList(from, Math.min(from + MAX_PRODUCT_BATCH, productIds.size()));
+            List<ProductDTO> found;
+            long requestedAt = System.currentTimeMillis();
+            try {
+                found = productServiceClient.getProductsByIds(new ProductBatchRequestDTO(batch));
+            } catch (Exception e) {
+                log.error("Ürün bilgileri alınamadı: productIds={}, error={}", batch, e.getMessage(), e);
+                throw new ServiceUnavailableException("Product Service", e.getMessage());
+            }
+            if (found == null) {
+                throw new ServiceUnavailableException("Product Service", "Toplu ürün sorgusu yanıt vermedi");
+            }
+            productCatalogReplica.remember(found, requestedAt);
+            found.forEach(product -> products.put(product.getId(), product));
+        }
+        return products;
+    }
+
+    static Map<String, Integer> requestedQuantities(Order order) {
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            requested.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return requested;
+    }
+
+    private static void awaitAll(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            // Hatalar her future için ayrı ayrı ele alınır
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record ValidationResult(Map<String, ProductDTO> products, 
+                                   Map<String, Integer> requestedQuantities) {
+    }
+
+    public record Reservation(String productId, Long stockId, Integer quantity) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.exception.InvalidCursorException;
+import com.eticaret.order.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+// Sipariş listelerinde bir sonraki sayfanın başlangıç anahtarı: (createdAt, id).
+// İstemciye opak bir base64 metin olarak verilir.
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public String encode() {
+        // MongoDB tarihleri milisaniye hassasiyetinde sakladığı için imleç de milisaniye taşır
+        long millis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String raw = millis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long millis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new OrderCursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()), id);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
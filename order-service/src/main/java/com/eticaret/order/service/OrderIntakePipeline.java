@@ -0,0 +1,283 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.exception.InsufficientStockException;
+import com.eticaret.order.exception.ResourceNotFoundException;
+import com.eticaret.order.exception.ServiceUnavailableException;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderIntake;
+import com.eticaret.order.model.OrderIntakeStatus;
+import com.eticaret.order.repository.OrderIntakeRepository;
+import com.eticaret.order.service.OrderCreationStages.Reservation;
+import com.eticaret.order.service.OrderCreationStages.ValidationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Asenkron sipariş alımı: validate → price → reserve → persist → publish.
+// Her aşamanın kendi sınırlı kuyruğu ve worker havuzu vardır; ara aşamalar dolduğunda iş bir önceki
+// aşamanın thread'inde çalışır (geri basınç), ilk aşama dolduğunda yeni istek reddedilir.
+@Slf4j
+@Component
+public class OrderIntakePipeline {
+
+    private static final int COMPLETE_ATTEMPTS = 3;
+    private static final long COMPLETE_RETRY_BACKOFF_MS = 200;
+
+    private final OrderCreationStages orderCreationStages;
+    private final OrderIntakeRepository orderIntakeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Counter rejectedCounter;
+    private final Stage validateStage;
+    private final Stage priceStage;
+    private final Stage reserveStage;
+    private final Stage persistStage;
+    private final Stage publishStage;
+
+    public OrderIntakePipeline(OrderCreationStages orderCreationStages,
+                               OrderIntakeRepository orderIntakeRepository,
+                               MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               Environment environment) {
+        this.orderCreationStages = orderCreationStages;
+        this.orderIntakeRepository = orderIntakeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.rejectedCounter = meterRegistry.counter("order.intake.rejected");
+        this.validateStage = new Stage("validate", environment, meterRegistry, new ThreadPoolExecutor.AbortPolicy());
+        this.priceStage = new Stage("price", environment, meterRegistry, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.reserveStage = new Stage("reserve", environment, meterRegistry, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.persistStage = new Stage("persist", environment, meterRegistry, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.publishStage = new Stage("publish", environment, meterRegistry, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public OrderIntake submit(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderIntake intake = new OrderIntake();
+        intake.setId(UUID.randomUUID().toString());
+        intake.setStatus(OrderIntakeStatus.ACCEPTED);
+        intake.setOrder(order);
+        intake.setCreatedAt(now);
+        intake.setUpdatedAt(now);
+        orderIntakeRepository.save(intake);
+        
+        IntakeContext context = new IntakeContext(intake.getId(), order);
+        try {
+            validateStage.submit(context, this::validate);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            orderIntakeRepository.deleteById(intake.getId());
+            log.warn("Sipariş alım kuyruğu dolu, istek reddedildi: intakeId={}", intake.getId());
+            throw new ServiceUnavailableException("Order Intake", "Sipariş kuyruğu dolu, lütfen daha sonra tekrar deneyin");
+        }
+        log.info("Sipariş isteği kabul edildi: intakeId={}, userId={}, items={}", 
+                intake.getId(), order.getUserId(), order.getItems().size());
+        return intake;
+    }
+
+    public OrderIntake getIntake(String intakeId) {
+        return orderIntakeRepository.findById(intakeId)
+                .orElseThrow(() -> {
+                    log.warn("Sipariş alım kaydı bulunamadı: intakeId={}", intakeId);
+                    return new ResourceNotFoundException("Sipariş alım kaydı bulunamadı: " + intakeId);
+                });
+    }
+
+    private void validate(IntakeContext context) {
+        orderCreationStages.assignId(context.order);
+        context.validation = orderCreationStages.validate(context.order);
+        priceStage.submit(context, this::price);
+    }
+
+    private void price(IntakeContext context) {
+        orderCreationStages.price(context.order, context.validation);
+        reserveStage.submit(context, this::reserve);
+    }
+
+    private void reserve(IntakeContext context) {
+        context.reservations = orderCreationStages.reserve(context.order, context.validation);
+        persistStage.submit(context, this::persist);
+    }
+
+    private void persist(IntakeContext context) {
+        context.savedOrder = orderCreationStages.persist(context.order, context.reservations);
+        publishStage.submit(context, this::publish);
+    }
+
+    // order-created olayı persist aşamasında outbox'a yazılmıştır; burada istemciye sonuç yayınlanır
+    private void publish(IntakeContext context) {
+        markCompleted(context);
+        log.info("Asenkron sipariş tamamlandı: intakeId={}, orderId={}, totalAmount={}", 
+                context.intakeId, context.savedOrder.getId(), context.savedOrder.getTotalAmount());
+    }
+
+    private void markCompleted(IntakeContext context) {
+        Update update = new Update()
+                .set("status", OrderIntakeStatus.COMPLETED)
+                .set("orderId", context.savedOrder.getId())
+                .set("updatedAt", LocalDateTime.now())
+                .unset("order");
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(context.intakeId)), update, OrderIntake.class);
+    }
+
+    private void fail(IntakeContext context, Stage stage, Exception e) {
+        if (context.savedOrder != null) {
+            // Sipariş kaydedildi; yalnızca alım kaydı güncellenemedi. FAILED yazılırsa istemci siparişi tekrar verir
+            completeAfterFailure(context, e);
+            return;
+        }
+        log.error("Asenkron sipariş başarısız: intakeId={}, stage={}, error={}", context.intakeId, stage.name, e.getMessage(), e);
+        // Persist aşaması kendi hatasında rezervasyonları geri alır; sonrasında sipariş zaten kaydedilmiştir
+        if (context.reservations != null && context.savedOrder == null && stage != persistStage) {
+            orderCreationStages.releaseReservations(context.order.getId(), context.reservations);
+        }
+        try {
+            Update update = new Update()
+                    .set("status", OrderIntakeStatus.FAILED)
+                    .set("errorStatus", errorStatus(e).value())
+                    .set("errorMessage", e.getMessage())
+                    .set("updatedAt", LocalDateTime.now());
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(context.intakeId)), update, OrderIntake.class);
+        } catch (Exception updateError) {
+            log.error("Sipariş alım kaydı güncellenemedi: intakeId={}, error={}", context.intakeId, updateError.getMessage(), updateError);
+        }
+    }
+
+    private void completeAfterFailure(IntakeContext context, Exception cause) {
+        log.warn("Sipariş kaydedildi ancak alım kaydı güncellenemedi, tekrar deneniyor: intakeId={}, orderId={}, error={}",
+                context.intakeId, context.savedOrder.getId(), cause.getMessage());
+        for (int attempt = 1; attempt <= COMPLETE_ATTEMPTS; attempt++) {
+            try {
+                markCompleted(context);
+                log.info("Asenkron sipariş tamamlandı: intakeId={}, orderId={}", context.intakeId, context.savedOrder.getId());
+                return;
+            } catch (Exception e) {
+                log.warn("Sipariş alım kaydı tamamlanamadı: intakeId={}, attempt={}, error={}", context.intakeId, attempt, e.getMessage());
+                if (attempt < COMPLETE_ATTEMPTS) {
+                    try {
+                        Thread.sleep(COMPLETE_RETRY_BACKOFF_MS * attempt);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        // Kayıt ACCEPTED kalır; sipariş orderId ile mevcuttur
+        log.error("Sipariş alım kaydı tamamlanamadı: intakeId={}, orderId={}", context.intakeId, context.savedOrder.getId());
+    }
+
+    // GlobalExceptionHandler ile aynı eşleme
+    static HttpStatus errorStatus(Exception e) {
+        if (e instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof ServiceUnavailableException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (e instanceof InsufficientStockException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Stage stage : List.of(validateStage, priceStage, reserveStage, persistStage, publishStage)) {
+            stage.executor.shutdown();
+        }
+        for (Stage stage : List.of(validateStage, priceStage, reserveStage, persistStage, publishStage)) {
+            try {
+                if (!stage.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Sipariş alım aşaması zamanında durmadı: stage={}, queued={}", stage.name, stage.executor.getQueue().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class IntakeContext {
+        private final String intakeId;
+        private final Order order;
+        private ValidationResult validation;
+        private List<Reservation> reservations;
+        private Order savedOrder;
+
+        private IntakeContext(String intakeId, Order order) {
+            this.intakeId = intakeId;
+            this.order = order;
+        }
+    }
+
+    private final class Stage {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final Timer processingTimer;
+        private final Timer queueWaitTimer;
+
+        private Stage(String name, Environment environment, MeterRegistry meterRegistry, RejectedExecutionHandler rejectionPolicy) {
+            this.name = name;
+            String prefix = "order.intake.stages." + name;
+            int workers = environment.getProperty(prefix + ".workers", Integer.class, 8);
+            int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class, 1000);
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, "order-intake-" + name + "-" + threadCount.incrementAndGet()),
+                    rejectionPolicy);
+            
+            Tags tags = Tags.of("stage", name);
+            Gauge.builder("order.intake.queue.depth", executor, pool -> pool.getQueue().size())
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("order.intake.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.processingTimer = Timer.builder("order.intake.stage")
+                    .tags(tags)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.queueWaitTimer = Timer.builder("order.intake.queue.wait")
+                    .tags(tags)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+
+        private void submit(IntakeContext context, Consumer<IntakeContext> action) {
+            long enqueuedAt = System.nanoTime();
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    action.accept(context);
+                } catch (Exception e) {
+                    fail(context, this, e);
+                } finally {
+                    processingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+    }
+}
@@ -1,146 +1,116 @@
 package com.eticaret.order.service;
 
-import com.eticaret.order.client.ProductServiceClient;
-import com.eticaret.order.client.StockServiceClient;
-import com.eticaret.order.client.UserServiceClient;
-import com.eticaret.order.dto.ProductDTO;
-import com.eticaret.order.dto.StockDTO;
-import com.eticaret.order.dto.UserDTO;
-import com.eticaret.order.exception.InsufficientStockException;
 import com.eticaret.order.exception.OrderCancellationException;
+import com.eticaret.order.exception.OrderStatusTransitionException;
 import com.eticaret.order.exception.ResourceNotFoundException;
-import com.eticaret.order.exception.ServiceUnavailableException;
 import com.eticaret.order.model.Order;
-import com.eticaret.order.model.OrderItem;
+import com.eticaret.order.model.OrderIntake;
 import com.eticaret.order.model.OrderStatus;
 import com.eticaret.order.repository.OrderRepository;
+import com.eticaret.order.service.OrderCreationStages.Reservation;
+import com.eticaret.order.service.OrderCreationStages.ValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class OrderServiceImpl implements IOrderService {
     
     private final OrderRepository orderRepository;
-    private final KafkaTemplate<String, Order> kafkaTemplate;
-    private final UserServiceClient userServiceClient;
-    private final ProductServiceClient productServiceClient;
-    private final StockServiceClient stockServiceClient;
-    private final SequenceService sequenceService;
+    private final OutboxService outboxService;
+    private final StockReleaseService stockReleaseService;
+    private final OrderCreationStages orderCreationStages;
+    private final OrderIntakePipeline orderIntakePipeline;
+    private final OrderBulkImporter orderBulkImporter;
+    private final MeterRegistry meterRegistry;
+    private final CacheManager cacheManager;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
 
     @Override
     public Order createOrder(Order order) {
         log.info("Yeni sipariş oluşturuluyor: userId={}, items={}", order.getUserId(), order.getItems().size());
+        Timer.Sample totalSample = Timer.start(meterRegistry);
         
         // Sıralı ID oluştur
-        try {
-            Long newId = sequenceService.getNextSequence("order_sequence");
-            order.setId(newId);
-            log.debug("Sipariş ID'si oluşturuldu: id={}", newId);
-        } catch (Exception e) {
-            log.error("Sipariş ID'si oluşturulamadı: {}", e.getMessage(), e);
-            throw new RuntimeException("Sipariş ID'si oluşturulamadı: " + e.getMessage());
-        }
+        orderCreationStages.assignId(order);
         
-        // Kullanıcı doğrulama
-        try {
-            UserDTO user = userServiceClient.getUserById(order.getUserId());
-            if (user == null) {
-                log.warn("Kullanıcı bulunamadı: userId={}", order.getUserId());
-                throw new ResourceNotFoundException("Kullanıcı", order.getUserId());
-            }
-            log.info("Kullanıcı doğrulandı: userId={}, username={}", user.getId(), user.getUsername());
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Kullanıcı doğrulama hatası: userId={}, error={}", order.getUserId(), e.getMessage(), e);
-            throw new ServiceUnavailableException("User Service", e.getMessage());
-        }
+        // Kullanıcı ve ürün bilgileri paralel olarak alınır
+        ValidationResult validation = timeStage("validate", () -> orderCreationStages.validate(order));
         
-        // Ürün ve stok kontrolü
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        for (OrderItem item : order.getItems()) {
-            log.debug("Sipariş kalemi işleniyor: productId={}, quantity={}", item.getProductId(), item.getQuantity());
-            
-            // Ürün bilgilerini al
-            ProductDTO product;
-            try {
-                product = productServiceClient.getProductById(item.getProductId());
-                if (product == null) {
-                    log.warn("Ürün bulunamadı: productId={}", item.getProductId());
-                    throw new ResourceNotFoundException("Ürün bulunamadı: " + item.getProductId());
-                }
-                log.debug("Ürün bilgisi alındı: productId={}, name={}, price={}", 
-                        product.getId(), product.getName(), product.getPrice());
-            } catch (ResourceNotFoundException e) {
-                throw e;
-            } catch (Exception e) {
-                log.error("Ürün bilgisi alınamadı: productId={}, error={}", item.getProductId(), e.getMessage(), e);
-                throw new ServiceUnavailableException("Product Service", e.getMessage());
-            }
-            
-            // Ürün bilgilerini güncelle
-            item.setProductName(product.getName());
-            
-            // Stok kontrolü
-            StockDTO stock;
-            try {
-                stock = stockServiceClient.getStockByProductId(item.getProductId());
-                if (stock == null) {
-                    log.warn("Ürün için stok bulunamadı: productId={}", item.getProductId());
-                    throw new ResourceNotFoundException("Ürün için stok bulunamadı: " + item.getProductId());
-                }
-                
-                if (stock.getAvailableQuantity() < item.getQuantity()) {
-                    log.warn("Yetersiz stok: productId={}, productName={}, available={}, requested={}", 
-                            item.getProductId(), product.getName(), stock.getAvailableQuantity(), item.getQuantity());
-                    throw new InsufficientStockException(product.getName(), 
-                            stock.getAvailableQuantity(), item.getQuantity());
-                }
-                
-                // Stok rezerve et
-                stockServiceClient.reserveStock(stock.getId(), item.getQuantity());
-                log.info("Stok rezerve edildi: productId={}, quantity={}", item.getProductId(), item.getQuantity());
-            } catch (InsufficientStockException | ResourceNotFoundException e) {
-                throw e;
-            } catch (Exception e) {
-                log.error("Stok rezerve edilemedi: productId={}, error={}", item.getProductId(), e.getMessage(), e);
-                throw new ServiceUnavailableException("Stock Service", e.getMessage());
-            }
-            
-            // Toplam tutarı hesapla
-            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
-        }
+        // Toplam tutarı hesapla
+        timeStage("price", () -> {
+            orderCreationStages.price(order, validation);
+            return order;
+        });
         
-        order.setTotalAmount(totalAmount);
-        order.setStatus(OrderStatus.PENDING);
-        order.setCreatedAt(LocalDateTime.now());
-        order.setUpdatedAt(LocalDateTime.now());
+        List<Reservation> reservations = timeStage("reserve", () -> orderCreationStages.reserve(order, validation));
         
-        Order savedOrder = orderRepository.save(order);
-        try {
-            kafkaTemplate.send("order-created", savedOrder);
-            log.info("Kafka'ya sipariş mesajı gönderildi: orderId={}", savedOrder.getId());
-        } catch (Exception e) {
-            log.error("Kafka'ya mesaj gönderilemedi: orderId={}, error={}", savedOrder.getId(), e.getMessage(), e);
-            // Kafka hatası sipariş oluşturmayı engellemez
-        }
+        Order savedOrder = timeStage("persist", () -> orderCreationStages.persist(order, reservations));
         
-        log.info("Sipariş başarıyla oluşturuldu: orderId={}, userId={}, totalAmount={}, items={}", 
-                savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount(), savedOrder.getItems().size());
+        long totalNanos = totalSample.stop(meterRegistry.timer("order.create.total"));
+        log.info("Sipariş başarıyla oluşturuldu: orderId={}, userId={}, totalAmount={}, items={}, durationMs={}", 
+                savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount(), savedOrder.getItems().size(),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos));
         return savedOrder;
     }
 
     @Override
+    public OrderIntake submitOrder(Order order) {
+        log.info("Asenkron sipariş isteği alınıyor: userId={}, items={}", order.getUserId(), order.getItems().size());
+        return orderIntakePipeline.submit(order);
+    }
+
+    @Override
+    public void importOrders(InputStream body, OutputStream results) throws IOException {
+        log.info("Toplu sipariş içe aktarma başlatılıyor");
+        orderBulkImporter.importOrders(body, results);
+    }
+
+    @Override
+    public OrderIntake getOrderIntake(String intakeId) {
+        log.debug("Sipariş alım kaydı getiriliyor: intakeId={}", intakeId);
+        return orderIntakePipeline.getIntake(intakeId);
+    }
+
+    private <T> T timeStage(String stage, Supplier<T> action) {
+        Timer timer = Timer.builder("order.create.stage")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Sipariş oluşturma aşaması tamamlandı: stage={}, durationMs={}", stage, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    @Override
+    @Cacheable(value = "orders", key = "#id")
     public Order getOrderById(Long id) {
         log.debug("Sipariş getiriliyor: id={}", id);
         Order order = orderRepository.findById(id)
@@ -153,88 +123,114 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     @Override
-    public List<Order> getOrdersByUserId(Long userId) {
-        log.debug("Kullanıcıya ait siparişler getiriliyor: userId={}", userId);
-        List<Order> orders = orderRepository.findByUserId(userId);
-        log.info("Kullanıcı {} için {} sipariş bulundu", userId, orders.size());
+    public Slice<Order> getOrdersByUserId(Long userId, String cursor, int size) {
+        log.debug("Kullanıcıya ait siparişler getiriliyor: userId={}, cursor={}, size={}", userId, cursor, size);
+        Pageable pageable = pageRequest(size);
+        Slice<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findByUserId(userId, pageable);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findByUserIdBefore(userId, position.createdAt(), position.id(), pageable);
+        }
+        log.info("Kullanıcı {} için {} sipariş getirildi, hasNext={}", userId, orders.getNumberOfElements(), orders.hasNext());
         return orders;
     }
 
     @Override
-    public List<Order> getAllOrders() {
-        log.debug("Tüm siparişler getiriliyor");
-        List<Order> orders = orderRepository.findAll();
-        log.info("Toplam {} sipariş bulundu", orders.size());
+    public Slice<Order> getAllOrders(String cursor, int size) {
+        log.debug("Siparişler getiriliyor: cursor={}, size={}", cursor, size);
+        Pageable pageable = pageRequest(size);
+        Slice<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findSliceBy(pageable);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findSliceBefore(position.createdAt(), position.id(), pageable);
+        }
+        log.info("{} sipariş getirildi, hasNext={}", orders.getNumberOfElements(), orders.hasNext());
         return orders;
     }
 
+    // Her zaman ilk sayfa istenir; konum imleç koşuluyla belirlenir (skip kullanılmaz)
+    private static Pageable pageRequest(int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return PageRequest.of(0, pageSize, KEYSET_SORT);
+    }
+
     @Override
+    @CacheEvict(value = "orders", key = "#id")
     public Order updateOrderStatus(Long id, String status) {
         log.info("Sipariş durumu güncelleniyor: id={}, newStatus={}", id, status);
-        Order order = getOrderById(id);
-        
+        OrderStatus newStatus;
         try {
-            OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
-            order.setStatus(newStatus);
-            order.setUpdatedAt(LocalDateTime.now());
-            Order updatedOrder = orderRepository.save(order);
-            
-            try {
-                kafkaTemplate.send("order-status-updated", updatedOrder);
-                log.info("Kafka'ya durum güncelleme mesajı gönderildi: orderId={}", updatedOrder.getId());
-            } catch (Exception e) {
-                log.error("Kafka'ya mesaj gönderilemedi: orderId={}, error={}", updatedOrder.getId(), e.getMessage(), e);
-                // Kafka hatası durum güncellemeyi engellemez
-            }
-            
-            log.info("Sipariş durumu başarıyla güncellendi: id={}, status={}", updatedOrder.getId(), updatedOrder.getStatus());
-            return updatedOrder;
+            newStatus = OrderStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             log.error("Geçersiz sipariş durumu: status={}", status);
             throw new RuntimeException("Geçersiz sipariş durumu: " + status);
         }
+        
+        OrderTransition transition = outboxService.transitionWithEvent(id, newStatus, "order-status-updated");
+        if (transition == null) {
+            throw transitionRejected(id, newStatus);
+        }
+        
+        Order updatedOrder = transition.order();
+        log.info("Sipariş durumu başarıyla güncellendi: id={}, {} → {}", id, transition.previousStatus(), updatedOrder.getStatus());
+        return updatedOrder;
     }
 
     @Override
+    @CacheEvict(value = "orders", key = "#id")
     public void cancelOrder(Long id) {
         log.info("Sipariş iptal ediliyor: id={}", id);
-        Order order = getOrderById(id);
         
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            log.warn("Teslim edilmiş sipariş iptal edilemez: id={}, status={}", id, order.getStatus());
-            throw new OrderCancellationException("Teslim edilmiş sipariş iptal edilemez");
+        // Önce durum koşullu olarak CANCELLED yapılır; eşzamanlı iki iptalden yalnızca biri stokları bırakır
+        OrderTransition transition = outboxService.transitionWithEvent(id, OrderStatus.CANCELLED, "order-cancelled");
+        if (transition == null) {
+            throw transitionRejected(id, OrderStatus.CANCELLED);
         }
+        Order order = transition.order();
         
-        // Rezerve edilmiş stokları geri bırak
-        if (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.CONFIRMED) {
+        // Rezerve edilmiş stoklar tek toplu istekle serbest bırakılır; başarısız olursa tekrar denenir
+        if (transition.previousStatus() == OrderStatus.PENDING || transition.previousStatus() == OrderStatus.CONFIRMED) {
             log.info("Rezerve edilmiş stoklar serbest bırakılıyor: orderId={}", id);
-            for (OrderItem item : order.getItems()) {
-                try {
-                    StockDTO stock = stockServiceClient.getStockByProductId(item.getProductId());
-                    if (stock != null) {
-                        stockServiceClient.releaseStock(stock.getId(), item.getQuantity());
-                        log.info("Stok serbest bırakıldı: productId={}, quantity={}", item.getProductId(), item.getQuantity());
-                    }
-                } catch (Exception e) {
-                    log.error("Stok serbest bırakılamadı: productId={}, error={}", item.getProductId(), e.getMessage(), e);
-                    // Stok serbest bırakma hatası sipariş iptalini engellemez
-                }
-            }
+            stockReleaseService.releaseOrder(order, "cancel");
         }
         
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setUpdatedAt(LocalDateTime.now());
-        orderRepository.save(order);
+        log.info("Sipariş başarıyla iptal edildi: id={}", id);
+    }
+
+    @Override
+    public List<Order> markOrdersPaid(Collection<Long> orderIds) {
+        log.info("Siparişler toplu olarak PAID yapılıyor: count={}", orderIds.size());
+        List<Order> paidOrders = outboxService.transitionAllWithEvents(orderIds, OrderStatus.PAID, "order-status-updated");
         
-        try {
-            kafkaTemplate.send("order-cancelled", order);
-            log.info("Kafka'ya iptal mesajı gönderildi: orderId={}", id);
-        } catch (Exception e) {
-            log.error("Kafka'ya mesaj gönderilemedi: orderId={}, error={}", id, e.getMessage(), e);
-            // Kafka hatası sipariş iptalini engellemez
+        Cache cache = cacheManager.getCache("orders");
+        if (cache != null) {
+            orderIds.forEach(cache::evict);
         }
         
-        log.info("Sipariş başarıyla iptal edildi: id={}", id);
+        if (paidOrders.size() < orderIds.size()) {
+            // Bulunamayan, zaten ödenmiş ya da iptal edilmiş siparişler
+            log.warn("Bazı siparişler PAID yapılmadı: requested={}, updated={}", orderIds.size(), paidOrders.size());
+        }
+        log.info("Siparişler PAID olarak güncellendi: count={}", paidOrders.size());
+        return paidOrders;
     }
-}
 
+    // Koşullu güncelleme eşleşmediyse nedeni ayırt edilir: sipariş yok ya da mevcut durumdan geçiş yok
+    private RuntimeException transitionRejected(Long id, OrderStatus target) {
+        Order current = orderRepository.findById(id).orElse(null);
+        if (current == null) {
+            log.warn("Sipariş bulunamadı: id={}", id);
+            return new ResourceNotFoundException("Sipariş", id);
+        }
+        if (target == OrderStatus.CANCELLED && current.getStatus() == OrderStatus.DELIVERED) {
+            log.warn("Teslim edilmiş sipariş iptal edilemez: id={}, status={}", id, current.getStatus());
+            return new OrderCancellationException("Teslim edilmiş sipariş iptal edilemez");
+        }
+        log.warn("Geçersiz durum geçişi: id={}, {} → {}", id, current.getStatus(), target);
+        return new OrderStatusTransitionException(id, current.getStatus(), target);
+    }
+}
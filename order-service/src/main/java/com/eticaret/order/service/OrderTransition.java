@@ -0,0 +1,8 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderStatus;
+
+// Koşullu durum güncellemesinin sonucu: güncel sipariş ve geçişten önceki durum
+public record OrderTransition(Order order, OrderStatus previousStatus) {
+}
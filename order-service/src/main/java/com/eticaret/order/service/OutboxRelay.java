@@ -0,0 +1,323 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.OutboxEvent;
+import com.eticaret.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outbox koleksiyonundaki olayları toplu olarak Kafka'ya aktarır (en az bir kez teslim)
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String LEASE_COLLECTION = "order_outbox_leases";
+    // Deneme hakkı biten olaylar elle incelenmek üzere buraya taşınır
+    private static final String DEAD_COLLECTION = "order_outbox_dead";
+    private static final String LEASE_ID = "order-outbox-relay";
+    private static final Sort CLAIM_ORDER = Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id"));
+    // Kilitli olaylar atlanırken yeterli aday bulunabilmesi için batch boyutunun katı kadar olay taranır
+    private static final int SCAN_FACTOR = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration lockDuration;
+    private final Duration leaseDuration;
+    private final Duration sendTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    public OutboxRelay(MongoTemplate mongoTemplate,
+                       OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${order.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${order.outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${order.outbox.relay.lock-seconds:30}") long lockSeconds,
+                       @Value("${order.outbox.relay.lease-seconds:10}") long leaseSeconds,
+                       @Value("${order.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${order.outbox.relay.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${order.outbox.relay.max-retry-backoff-ms:60000}") long maxRetryBackoffMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        // Bir gönderim turu kira süresinin yarısını ve olay kilidini aşmaz
+        this.sendTimeout = Collections.min(List.of(this.lockDuration, this.leaseDuration.dividedBy(2)));
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.maxRetryBackoff = Duration.ofMillis(maxRetryBackoffMs);
+        this.publishedCounter = meterRegistry.counter("order.outbox.published");
+        this.failedCounter = meterRegistry.counter("order.outbox.failed");
+        this.deadCounter = meterRegistry.counter("order.outbox.dead");
+        Gauge.builder("order.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Kafka'ya henüz aktarılmamış olay sayısı")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Aktarılmayı bekleyen en eski olayın yaşı")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            if (!acquireLease()) {
+                return;
+            }
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+            updateLag();
+        } catch (Exception e) {
+            log.error("Outbox aktarımı sırasında hata: {}", e.getMessage(), e);
+        }
+    }
+
+    // Aynı siparişin olaylarının farklı instance'lar tarafından paralel gönderilip sırasının bozulmaması için
+    // relay'i aynı anda yalnızca kira (lease) sahibi instance çalıştırır; sahip durursa kira süresi sonunda devralınır
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(LEASE_ID).orOperator(
+                Criteria.where("owner").is(instanceId),
+                Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update().set("owner", instanceId).set("leaseUntil", now.plus(leaseDuration));
+        try {
+            mongoTemplate.upsert(query, update, LEASE_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Kira başka bir instance'ta
+            return false;
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        // Aynı siparişin olayları sırayla gönderilir: her turda siparişlerin sıradaki olayı paralel gönderilir,
+        // bir olay gönderilemezse o siparişin sonraki olayları bu çalıştırmada gönderilmez
+        Map<String, Deque<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), key -> new ArrayDeque<>()).add(event);
+        }
+        
+        List<String> published = new ArrayList<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        while (!byAggregate.isEmpty()) {
+            // Her tur öncesi kira yenilenir; kira kaybedildiyse kalan olaylar yeni sahibe bırakılır
+            if (!acquireLease()) {
+                log.warn("Outbox relay kirası kaybedildi, aktarım durduruluyor");
+                break;
+            }
+            List<OutboxEvent> round = new ArrayList<>(byAggregate.size());
+            List<CompletableFuture<?>> futures = new ArrayList<>(byAggregate.size());
+            for (Deque<OutboxEvent> events : byAggregate.values()) {
+                OutboxEvent event = events.peekFirst();
+                round.add(event);
+                // Sipariş ID'si anahtar olarak kullanılır; aynı siparişin olayları aynı partition'a gider
+                futures.add(kafkaTemplate.send(event.getTopic(), event.getAggregateId(), event.getPayload()));
+            }
+            
+            // Bekleme kira süresinin altında tutulur; kira tur sırasında başka bir instance'a geçmez
+            long deadline = System.nanoTime() + sendTimeout.toNanos();
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent event = round.get(i);
+                try {
+                    futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    published.add(event.getId());
+                    Deque<OutboxEvent> remaining = byAggregate.get(event.getAggregateId());
+                    remaining.pollFirst();
+                    if (remaining.isEmpty()) {
+                        byAggregate.remove(event.getAggregateId());
+                    }
+                } catch (Exception e) {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setLastError(e.getMessage());
+                    failed.add(event);
+                    byAggregate.remove(event.getAggregateId());
+                }
+            }
+        }
+        
+        if (!published.isEmpty()) {
+            outboxEventRepository.deleteAllById(published);
+            publishedCounter.increment(published.size());
+        }
+        if (!failed.isEmpty()) {
+            handleFailures(failed);
+        }
+        
+        // Gönderilmeyen (önceki olayı başarısız olan ya da kira kaybıyla kalan) olayların kilidi bırakılır
+        Set<String> done = new HashSet<>(published);
+        failed.forEach(event -> done.add(event.getId()));
+        List<String> skipped = batch.stream().map(OutboxEvent::getId).filter(id -> !done.contains(id)).toList();
+        if (!skipped.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("id").in(skipped).and("lockedBy").is(instanceId)),
+                    new Update().unset("lockedBy").unset("lockedUntil"),
+                    OutboxEvent.class);
+        }
+        log.debug("Outbox aktarımı: published={}, failed={}, skipped={}", published.size(), failed.size(), skipped.size());
+        return failed.isEmpty() && skipped.isEmpty() ? batch.size() : 0;
+    }
+
+    // Başarısız olay, deneme sayısına göre artan bir süre kilitli kalır ve sonra yeniden denenir; kilit sürdükçe
+    // aynı siparişin sonraki olayları claimBatch tarafından alınmaz. Deneme hakkı biten olay dead koleksiyonuna
+    // taşınır: sıradaki olaylar bu olay olmadan yayınlanır, olay elle incelenip gerekirse yeniden kuyruğa alınır.
+    private void handleFailures(List<OutboxEvent> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> dead = new ArrayList<>();
+        BulkOperations retries = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEvent.class);
+        int retrying = 0;
+        for (OutboxEvent event : failed) {
+            if (event.getAttempts() >= maxAttempts) {
+                dead.add(event);
+                continue;
+            }
+            retries.updateOne(new Query(Criteria.where("id").is(event.getId())),
+                    new Update().set("attempts", event.getAttempts())
+                            .set("lastError", event.getLastError())
+                            .set("lockedUntil", now.plus(backoff(event.getAttempts()))));
+            retrying++;
+        }
+        if (retrying > 0) {
+            retries.execute();
+        }
+        failedCounter.increment(failed.size());
+        log.warn("Outbox olayları Kafka'ya aktarılamadı: count={}, dead={}, error={}",
+                failed.size(), dead.size(), failed.get(0).getLastError());
+        
+        for (OutboxEvent event : dead) {
+            event.setLockedBy(null);
+            event.setLockedUntil(null);
+            // Önce dead koleksiyonuna yazılır; silinemeden kalırsa aynı ID ile tekrar taşınması save ile üzerine yazar
+            mongoTemplate.save(event, DEAD_COLLECTION);
+            outboxEventRepository.deleteById(event.getId());
+            deadCounter.increment();
+            log.error("Outbox olayı deneme hakkı bitince dead koleksiyonuna taşındı: id={}, topic={}, orderId={}, attempts={}, error={}",
+                    event.getId(), event.getTopic(), event.getAggregateId(), event.getAttempts(), event.getLastError());
+        }
+    }
+
+    // Üstel bekleme: retry-backoff-ms, 2x, 4x ... en fazla max-retry-backoff-ms
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    // En eski bekleyen olaylardan başlanarak taranır. Kilitli (gönderilmekte ya da hata sonrası beklemede)
+    // bir olayı olan siparişin daha yeni olayları alınmaz; böylece bir siparişin olayları sırayla yayınlanır.
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("lockedUntil").is(null),
+                Criteria.where("lockedUntil").lt(now));
+        
+        Query candidates = new Query().with(CLAIM_ORDER).limit(batchSize * SCAN_FACTOR);
+        candidates.fields().include("id").include("aggregateId").include("lockedUntil");
+        Set<String> blocked = new HashSet<>();
+        Map<String, String> selected = new LinkedHashMap<>();
+        for (OutboxEvent candidate : mongoTemplate.find(candidates, OutboxEvent.class)) {
+            if (selected.size() == batchSize) {
+                break;
+            }
+            boolean locked = candidate.getLockedUntil() != null && !candidate.getLockedUntil().isBefore(now);
+            if (locked) {
+                blocked.add(candidate.getAggregateId());
+            } else if (!blocked.contains(candidate.getAggregateId())) {
+                selected.put(candidate.getId(), candidate.getAggregateId());
+            }
+        }
+        if (selected.isEmpty()) {
+            return List.of();
+        }
+        
+        // Her doküman için koşullu güncelleme atomiktir; başka bir instance'ın aldığı olaylar eşleşmez
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(Criteria.where("id").in(selected.keySet()), claimable)),
+                new Update().set("lockedBy", instanceId).set("lockedUntil", now.plus(lockDuration)),
+                OutboxEvent.class);
+        
+        Query claimedQuery = new Query(Criteria.where("id").in(selected.keySet()).and("lockedBy").is(instanceId))
+                .with(CLAIM_ORDER);
+        List<OutboxEvent> claimed = mongoTemplate.find(claimedQuery, OutboxEvent.class);
+        if (claimed.size() == selected.size()) {
+            return claimed;
+        }
+        
+        // Araya giren bir sahiplenme nedeniyle alınamayan olay varsa, aynı siparişin sonraki olayları bırakılır
+        Set<String> claimedIds = new HashSet<>();
+        claimed.forEach(event -> claimedIds.add(event.getId()));
+        Set<String> missingAggregates = new HashSet<>();
+        Set<String> released = new HashSet<>();
+        selected.forEach((id, aggregateId) -> {
+            if (!claimedIds.contains(id)) {
+                missingAggregates.add(aggregateId);
+            } else if (missingAggregates.contains(aggregateId)) {
+                released.add(id);
+            }
+        });
+        if (released.isEmpty()) {
+            return claimed;
+        }
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("id").in(released).and("lockedBy").is(instanceId)),
+                new Update().unset("lockedBy").unset("lockedUntil"),
+                OutboxEvent.class);
+        return claimed.stream().filter(event -> !released.contains(event.getId())).toList();
+    }
+
+    private void updateLag() {
+        pendingEvents.set(mongoTemplate.estimatedCount(OutboxEvent.class));
+        Query oldest = new Query().with(Sort.by(Sort.Direction.ASC, "createdAt")).limit(1);
+        oldest.fields().include("createdAt");
+        OutboxEvent event = mongoTemplate.findOne(oldest, OutboxEvent.class);
+        lagMillis.set(event == null ? 0 : Math.max(0, Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis()));
+    }
+}
@@ -0,0 +1,282 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.event.OrderCreatedEvent;
+import com.eticaret.order.event.OrderStatusChangedEvent;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderStatus;
+import com.eticaret.order.model.OutboxEvent;
+import com.eticaret.order.model.PendingTransition;
+import com.eticaret.order.repository.OrderRepository;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OrderRepository orderRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    @Value("${order.outbox.write-attempts:3}")
+    private final int writeAttempts;
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final long WRITE_RETRY_BACKOFF_MS = 100;
+
+    // Sipariş ve olayı birlikte yazar; order.outbox.transactional=true ise tek transaction içinde. Transaction yoksa
+    // sipariş bekleyen olay işaretiyle yazılır; olay yazılamazsa işaret kalır ve OutboxTransitionRecovery olayı yazar.
+    // Exception yalnızca sipariş yazılmadıysa (ya da transaction geri alındıysa) fırlatılır.
+    @Transactional
+    public Order saveWithEvent(Order order, String topic) {
+        PendingTransition mark = new PendingTransition(new ObjectId().toHexString(), null, order.getStatus(), topic,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        // Sonraki geçişlerin zamanı updatedAt'ten sonra olur; oluşturma olayı bunlardan önce sıralanır
+        order.setUpdatedAt(mark.getAt());
+        order.setPendingTransitions(new ArrayList<>(List.of(mark)));
+        Order savedOrder = orderRepository.save(order);
+        publishMarked(List.of(savedOrder), mark.getBatchId());
+        return savedOrder;
+    }
+
+    // Toplu içe aktarma: siparişler sırasız (unordered) bulk insert ile, her biri bekleyen olay işaretiyle yazılır;
+    // bir siparişin hatası diğerlerini durdurmaz. Olayları outbox'a tek insert ile eklenir. Dönen liste yalnızca
+    // sipariş yazımının sonucudur: olay yazımı başarısız olsa da yazılan siparişler döner (saveWithEvent gibi).
+    @Transactional
+    public List<Order> insertAllWithEvents(List<Order> orders, String topic) {
+        String batchId = new ObjectId().toHexString();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (Order order : orders) {
+            order.setUpdatedAt(now);
+            order.setPendingTransitions(new ArrayList<>(List.of(
+                    new PendingTransition(batchId, null, order.getStatus(), topic, now))));
+        }
+        List<Order> inserted = orders;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class).insert(orders).execute();
+        } catch (BulkOperationException e) {
+            Set<Integer> failedIndexes = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failedIndexes.add(error.getIndex());
+            }
+            log.warn("Toplu sipariş yazımında hatalı kayıtlar: failed={}, total={}", failedIndexes.size(), orders.size());
+            inserted = new ArrayList<>(orders.size() - failedIndexes.size());
+            for (int i = 0; i < orders.size(); i++) {
+                if (!failedIndexes.contains(i)) {
+                    inserted.add(orders.get(i));
+                }
+            }
+        }
+        
+        if (!inserted.isEmpty()) {
+            publishMarked(inserted, batchId);
+        }
+        return inserted;
+    }
+
+    // Durum, izin verilen kaynak durumlardan birindeyse tek findAndModify ile güncellenir; aynı güncellemede önceki
+    // durumu taşıyan bekleyen olay işareti eklenir. Geçiş yoksa null döner. Doküman yeniden yazılmaz.
+    @Transactional
+    public OrderTransition transitionWithEvent(Long orderId, OrderStatus target, String topic) {
+        String batchId = new ObjectId().toHexString();
+        Query query = new Query(Criteria.where("id").is(orderId).and("status").in(OrderStatus.sourcesOf(target)));
+        Order order = mongoTemplate.findAndModify(query, markedTransition(batchId, target, topic),
+                options().returnNew(true), Order.class);
+        if (order == null) {
+            return null;
+        }
+        
+        OrderStatus previousStatus = pendingTransition(order, batchId).getFrom();
+        publishMarked(List.of(order), batchId);
+        return new OrderTransition(order, previousStatus);
+    }
+
+    // Toplu geçiş: izin verilen kaynak durumdaki siparişler tek updateMulti ile güncellenir. Aynı güncellemede her siparişe
+    // benzersiz batchId ve önceki durumu taşıyan bir geçiş işareti eklenir; değişen siparişler bu batchId ile yeniden okunur.
+    // Olaylar yazılınca işaret kaldırılır; yazılamazsa işaret kalır ve olay OutboxTransitionRecovery ile yazılır.
+    @Transactional
+    public List<Order> transitionAllWithEvents(Collection<Long> orderIds, OrderStatus target, String topic) {
+        String batchId = new ObjectId().toHexString();
+        Query query = new Query(Criteria.where("id").in(orderIds).and("status").in(OrderStatus.sourcesOf(target)));
+        long modified = mongoTemplate.updateMulti(query, markedTransition(batchId, target, topic), Order.class)
+                .getModifiedCount();
+        if (modified == 0) {
+            return List.of();
+        }
+        
+        // Sorgu _id index'ini kullanır; batchId yalnızca bu partide değişen siparişleri seçer
+        List<Order> updated = mongoTemplate.find(
+                new Query(Criteria.where("id").in(orderIds).and("pendingTransitions.batchId").is(batchId)), Order.class);
+        publishMarked(updated, batchId);
+        return updated;
+    }
+
+    // status/updatedAt ile birlikte, önceki durumu ($status) taşıyan bekleyen olay işaretini ekleyen pipeline güncellemesi.
+    // Geçiş zamanı siparişin önceki updatedAt değerinden en az 1 ms sonradır: farklı replikaların saatleri kaysa da
+    // bir siparişin olaylarındaki occurredAt kesin artar ve tüketiciler farklı topic'lerden gelen olayları sıralayabilir.
+    private static AggregationUpdate markedTransition(String batchId, OrderStatus target, String topic) {
+        // MongoDB tarihleri milisaniye hassasiyetinde saklar
+        Document now = new Document("$max", List.of(new Date(),
+                new Document("$add", List.of(new Document("$ifNull", List.of("$updatedAt", new Date(0))), 1))));
+        Document mark = new Document("batchId", batchId)
+                .append("from", "$status")
+                .append("to", target.name())
+                .append("topic", topic)
+                .append("at", now);
+        Document set = new Document("status", target.name())
+                .append("updatedAt", now)
+                .append("pendingTransitions", new Document("$concatArrays", List.of(
+                        new Document("$ifNull", List.of("$pendingTransitions", List.of())), List.of(mark))));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+    }
+
+    // İşaretli siparişlerin olaylarını outbox'a yazar; yazılınca işaret kaldırılır. Sipariş nesneleri işaretin
+    // durumuna ve zamanına göre güncellenir (çağırana dönen hal).
+    private void publishMarked(List<Order> orders, String batchId) {
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        List<Long> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            PendingTransition transition = pendingTransition(order, batchId);
+            if (transition.getFrom() != null) {
+                order.setStatus(transition.getTo());
+                order.setUpdatedAt(transition.getAt());
+            }
+            order.getPendingTransitions().remove(transition);
+            events.add(newEvent(transition, order));
+            orderIds.add(order.getId());
+        }
+        if (writeEvents(events)) {
+            clearPendingTransition(orderIds, batchId);
+            log.debug("Outbox'a olay eklendi: topic={}, count={}", events.get(0).getTopic(), events.size());
+        } else {
+            log.warn("Olaylar yazılamadı, kurtarma işiyle yazılacak: batchId={}, orderIds={}", batchId, orderIds);
+        }
+    }
+
+    // Olayı yazılamadan kalan geçiş işaretlerini olaya dönüştürür; olay yazılınca işaret kaldırılır
+    public int recoverPendingTransitions(Order order, LocalDateTime olderThan) {
+        List<PendingTransition> stale = order.getPendingTransitions() == null ? List.of()
+                : order.getPendingTransitions().stream().filter(transition -> transition.getAt().isBefore(olderThan)).toList();
+        int recovered = 0;
+        for (PendingTransition transition : stale) {
+            if (writeEvents(List.of(newEvent(transition, order)))) {
+                mongoTemplate.updateFirst(new Query(Criteria.where("id").is(order.getId())),
+                        new Update().pull("pendingTransitions", new Document("batchId", transition.getBatchId())),
+                        Order.class);
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    private void clearPendingTransition(Collection<Long> orderIds, String batchId) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(orderIds).and("pendingTransitions.batchId").is(batchId)),
+                new Update().pull("pendingTransitions", new Document("batchId", batchId)),
+                Order.class);
+    }
+
+    private static PendingTransition pendingTransition(Order order, String batchId) {
+        return order.getPendingTransitions().stream()
+                .filter(transition -> batchId.equals(transition.getBatchId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // Olay, geçişin yapıldığı anla sıralanır; sonradan yazılsa da aynı siparişin sonraki olaylarından önce gider.
+    // ID batchId ve sipariş ID'sinden türetilir: aynı işaret iki kez olaya dönüştürülürse (ör. iki replikanın
+    // kurtarma işi) ikinci insert duplicate key ile reddedilir.
+    private static OutboxEvent newEvent(PendingTransition transition, Order order) {
+        Object payload = transition.getFrom() == null
+                ? OrderCreatedEvent.from(order, transition.getAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                : OrderStatusChangedEvent.from(order, transition);
+        OutboxEvent event = newEvent(transition.getTopic(), order.getId(), payload);
+        event.setId(transition.getBatchId() + ":" + order.getId());
+        event.setCreatedAt(transition.getAt());
+        return event;
+    }
+
+    // Transaction içinde hata transaction'ı (ve siparişi) geri alır. Transaction yoksa sipariş işaretiyle zaten
+    // yazılmıştır; olaylar birkaç kez denenir, yine yazılamazsa sayılır ve false döner (işaret kurtarma için kalır).
+    private boolean writeEvents(List<OutboxEvent> events) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            insertEvents(events);
+            return true;
+        }
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= writeAttempts; attempt++) {
+            try {
+                insertEvents(events);
+                return true;
+            } catch (RuntimeException e) {
+                lastError = e;
+                log.warn("Outbox olayları yazılamadı: attempt={}, count={}, error={}", attempt, events.size(), e.getMessage());
+                if (attempt < writeAttempts && !pause(WRITE_RETRY_BACKOFF_MS * attempt)) {
+                    break;
+                }
+            }
+        }
+        meterRegistry.counter("order.outbox.write.failed").increment(events.size());
+        List<String> orderIds = events.stream().map(OutboxEvent::getAggregateId).toList();
+        log.error("Outbox olayları yazılamadı: orderIds={}, error={}",
+                orderIds, lastError != null ? lastError.getMessage() : "interrupted", lastError);
+        return false;
+    }
+
+    // Olay ID'leri önceden atandığından tekrar denemede zaten yazılmış olaylar duplicate key verir ve atlanır
+    private void insertEvents(List<OutboxEvent> events) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEvent.class).insert(events).execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static OutboxEvent newEvent(String topic, Long orderId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(new ObjectId().toHexString());
+        event.setTopic(topic);
+        event.setAggregateId(String.valueOf(orderId));
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
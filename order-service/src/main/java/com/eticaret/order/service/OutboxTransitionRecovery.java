@@ -0,0 +1,54 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Toplu geçişte durum güncellenip olayı outbox'a yazılamayan siparişleri bulur ve olaylarını yazar.
+// Devam eden geçişlere karışmamak için yalnızca stale-seconds'tan eski işaretler işlenir.
+// Her replikada çalışır; olay ID'si işaretten türetildiğinden aynı işaret iki kez olaya dönüştürülmez.
+@Slf4j
+@Component
+public class OutboxTransitionRecovery {
+
+    private final OutboxService outboxService;
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final Duration staleAfter;
+
+    public OutboxTransitionRecovery(OutboxService outboxService,
+                                    MongoTemplate mongoTemplate,
+                                    @Value("${order.outbox.transition-recovery.batch-size:100}") int batchSize,
+                                    @Value("${order.outbox.transition-recovery.stale-seconds:60}") long staleSeconds) {
+        this.outboxService = outboxService;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.staleAfter = Duration.ofSeconds(staleSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.transition-recovery.interval-ms:30000}")
+    public void recover() {
+        try {
+            LocalDateTime olderThan = LocalDateTime.now().minus(staleAfter);
+            Query stale = new Query(Criteria.where("pendingTransitions").elemMatch(Criteria.where("at").lt(olderThan)))
+                    .limit(batchSize);
+            int recovered = 0;
+            for (Order order : mongoTemplate.find(stale, Order.class)) {
+                recovered += outboxService.recoverPendingTransitions(order, olderThan);
+            }
+            if (recovered > 0) {
+                log.info("Yazılamayan toplu geçiş olayları outbox'a eklendi: count={}", recovered);
+            }
+        } catch (Exception e) {
+            log.error("Toplu geçiş olayları kurtarılırken hata: {}", e.getMessage(), e);
+        }
+    }
+}
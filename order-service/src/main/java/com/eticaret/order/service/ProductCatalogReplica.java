@@ -0,0 +1,161 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.client.ProductServiceClient;
+import com.eticaret.order.dto.ProductDTO;
+import com.eticaret.order.event.ProductChangedEvent;
+import com.eticaret.order.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Sipariş oluşturma için ürün adı/fiyatının yerel kopyası. Açılışta ve refresh-ms aralığıyla Product Service'ten
+// tam liste alınır, arada product-changed olaylarıyla güncellenir. Bulunamayan ürünler Feign ile sorgulanır.
+// Kayıtlar zaman damgasıyla birleştirilir: daha eski bir anlık görüntü ya da olay yeni bilgiyi ezmez.
+@Slf4j
+@Component
+public class ProductCatalogReplica {
+
+    private final ProductServiceClient productServiceClient;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private volatile long lastSnapshotAt;
+
+    public ProductCatalogReplica(ProductServiceClient productServiceClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${order.product-replica.enabled:true}") boolean enabled,
+                                 @Value("${order.product-replica.refresh-minutes:10}") long refreshMinutes) {
+        this.productServiceClient = productServiceClient;
+        this.enabled = enabled;
+        this.refreshInterval = Duration.ofMinutes(refreshMinutes);
+        this.hitCounter = meterRegistry.counter("order.product.replica.lookups", "result", "hit");
+        this.missCounter = meterRegistry.counter("order.product.replica.lookups", "result", "miss");
+        Gauge.builder("order.product.replica.size", entries, Map::size)
+                .description("Yerel ürün kopyasındaki kayıt sayısı")
+                .register(meterRegistry);
+    }
+
+    // Anlık görüntü alınamazsa bir sonraki çalışmada tekrar denenir; bu sürede tüm sorgular Feign'e düşer
+    @Scheduled(fixedDelayString = "${order.product-replica.bootstrap-retry-ms:10000}")
+    public void refreshSnapshot() {
+        long now = System.currentTimeMillis();
+        if (!enabled || (lastSnapshotAt > 0 && now - lastSnapshotAt < refreshInterval.toMillis())) {
+            return;
+        }
+        List<ProductDTO> products;
+        try {
+            products = productServiceClient.getAllProducts();
+        } catch (Exception e) {
+            log.warn("Ürün kataloğu anlık görüntüsü alınamadı: {}", e.getMessage());
+            return;
+        }
+        if (products == null) {
+            log.warn("Ürün kataloğu anlık görüntüsü alınamadı: Product Service yanıt vermedi");
+            return;
+        }
+        products.forEach(product -> put(product, now));
+        int removed = tombstoneMissing(products, now);
+        lastSnapshotAt = now;
+        log.info("Ürün kataloğu anlık görüntüsü yüklendi: products={}, removed={}, replicaSize={}",
+                products.size(), removed, entries.size());
+    }
+
+    // Anlık görüntüde olmayan ürün silinmiştir (product-changed DELETED olayı kaçmış olabilir). Yalnızca anlık
+    // görüntüden önce bilinen kayıtlar tombstone yapılır; sorgu sürerken olayla eklenen ürün korunur.
+    private int tombstoneMissing(List<ProductDTO> products, long snapshotAt) {
+        Set<String> present = new HashSet<>(products.size() * 2);
+        products.forEach(product -> present.add(product.getId()));
+        int removed = 0;
+        for (String productId : entries.keySet()) {
+            if (present.contains(productId)) {
+                continue;
+            }
+            Entry result = entries.computeIfPresent(productId, (id, entry) ->
+                    !entry.deleted() && entry.updatedAt() < snapshotAt ? Entry.tombstone(snapshotAt) : entry);
+            if (result != null && result.deleted() && result.updatedAt() == snapshotAt) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void apply(ProductChangedEvent event) {
+        if (!enabled || event == null || event.productId() == null) {
+            return;
+        }
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            merge(event.productId(), Entry.tombstone(event.occurredAt()));
+        } else if (event.price() != null) {
+            merge(event.productId(), new Entry(event.name(), Money.of(event.price()).minorUnits(), false, event.occurredAt()));
+        }
+        log.debug("Ürün kopyası güncellendi: productId={}, type={}", event.productId(), event.type());
+    }
+
+    // Kopyada bulunan (silinmemiş) ürünler döner; eksikler çağıranın Product Service'ten sorgulaması içindir
+    public Map<String, ProductDTO> lookup(Collection<String> productIds) {
+        Map<String, ProductDTO> found = new LinkedHashMap<>();
+        if (!enabled) {
+            return found;
+        }
+        for (String productId : productIds) {
+            Entry entry = entries.get(productId);
+            if (entry != null && !entry.deleted()) {
+                found.put(productId, entry.toProduct(productId));
+            }
+        }
+        hitCounter.increment(found.size());
+        missCounter.increment(productIds.size() - found.size());
+        return found;
+    }
+
+    // Feign ile alınan ürünler bir sonraki siparişte tekrar sorgulanmasın diye kopyaya eklenir. Zaman damgası
+    // isteğin gönderildiği andır; sorgu sürerken gelen bir ürün olayı yanıttan yeni sayılır (refreshSnapshot gibi).
+    public void remember(Collection<ProductDTO> products, long requestedAt) {
+        if (!enabled) {
+            return;
+        }
+        products.forEach(product -> put(product, requestedAt));
+    }
+
+    private void put(ProductDTO product, long updatedAt) {
+        if (product.getId() != null && product.getPrice() != null) {
+            merge(product.getId(), new Entry(product.getName(), Money.of(product.getPrice()).minorUnits(), false, updatedAt));
+        }
+    }
+
+    private void merge(String productId, Entry candidate) {
+        entries.merge(productId, candidate, (current, next) -> next.updatedAt() >= current.updatedAt() ? next : current);
+    }
+
+    // Ürün başına kompakt kayıt; silinen ürünler, eski bir anlık görüntüyle geri gelmesin diye tombstone olarak tutulur
+    private record Entry(String name, long priceMinor, boolean deleted, long updatedAt) {
+
+        static Entry tombstone(long updatedAt) {
+            return new Entry(null, 0, true, updatedAt);
+        }
+
+        ProductDTO toProduct(String productId) {
+            ProductDTO product = new ProductDTO();
+            product.setId(productId);
+            product.setName(name);
+            product.setPrice(Money.ofMinor(priceMinor).toBigDecimal());
+            return product;
+        }
+    }
+}
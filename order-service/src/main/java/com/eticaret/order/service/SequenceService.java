@@ -1,31 +1,141 @@
 package com.eticaret.order.service;
 
 import com.eticaret.order.model.Sequence;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
 
+// Hi/lo (segment) ID üretici: her instance tek findAndModify ile blockSize kadar ID kiralar ve
+// bellekten dağıtır. ID'ler instance içinde artan, cluster genelinde tekildir; yeniden başlatmada
+// kullanılmayan aralık boşluk olarak kalır.
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class SequenceService {
-    
+
     private final MongoOperations mongoOperations;
-    
+    private final long blockSize;
+    private final long prefetchThreshold;
+    private final ConcurrentMap<String, SegmentBuffer> buffers = new ConcurrentHashMap<>();
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sequence-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SequenceService(MongoOperations mongoOperations,
+                           @Value("${sequence.block-size:1000}") long blockSize) {
+        this.mongoOperations = mongoOperations;
+        this.blockSize = Math.max(1, blockSize);
+        // Segmentin son %10'una girildiğinde sonraki segment kiralanır
+        this.prefetchThreshold = Math.max(1, this.blockSize / 10);
+    }
+
     public Long getNextSequence(String seqName) {
+        return buffers.computeIfAbsent(seqName, SegmentBuffer::new).next();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private Segment leaseSegment(String seqName) {
         Query query = new Query(Criteria.where("id").is(seqName));
-        Update update = new Update().inc("seq", 1);
+        Update update = new Update().inc("seq", blockSize);
         Sequence counter = mongoOperations.findAndModify(
             query,
             update,
             options().returnNew(true).upsert(true),
             Sequence.class
         );
-        return counter != null ? counter.getSeq() : 1L;
+        long hi = counter != null ? counter.getSeq() : blockSize;
+        log.debug("Yeni ID segmenti kiralandı: sequence={}, range=[{}, {}]", seqName, hi - blockSize + 1, hi);
+        return new Segment(hi - blockSize + 1, hi);
     }
-}
 
+    private static final class Segment {
+        private final AtomicLong cursor;
+        private final long max;
+
+        private Segment(long min, long max) {
+            this.cursor = new AtomicLong(min);
+            this.max = max;
+        }
+    }
+
+    private final class SegmentBuffer {
+        private final String seqName;
+        private volatile Segment current;
+        private final AtomicReference<CompletableFuture<Segment>> prefetched = new AtomicReference<>();
+
+        private SegmentBuffer(String seqName) {
+            this.seqName = seqName;
+        }
+
+        private long next() {
+            while (true) {
+                Segment segment = current;
+                if (segment != null) {
+                    // Hızlı yol: kilitsiz sayaç
+                    long id = segment.cursor.getAndIncrement();
+                    if (id <= segment.max) {
+                        if (segment.max - id <= prefetchThreshold) {
+                            prefetch();
+                        }
+                        return id;
+                    }
+                }
+                switchSegment(segment);
+            }
+        }
+
+        private void prefetch() {
+            if (prefetched.get() != null) {
+                return;
+            }
+            CompletableFuture<Segment> future = new CompletableFuture<>();
+            if (prefetched.compareAndSet(null, future)) {
+                prefetchExecutor.execute(() -> {
+                    try {
+                        future.complete(leaseSegment(seqName));
+                    } catch (Exception e) {
+                        log.warn("ID segmenti önceden kiralanamadı: sequence={}, error={}", seqName, e.getMessage());
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+        }
+
+        private synchronized void switchSegment(Segment exhausted) {
+            if (current != exhausted) {
+                // Segment başka bir thread tarafından zaten değiştirildi
+                return;
+            }
+            CompletableFuture<Segment> pending = prefetched.getAndSet(null);
+            Segment nextSegment = null;
+            if (pending != null) {
+                try {
+                    nextSegment = pending.join();
+                } catch (Exception e) {
+                    log.warn("Önceden kiralanan segment kullanılamadı, senkron kiralanıyor: sequence={}", seqName);
+                }
+            }
+            current = nextSegment != null ? nextSegment : leaseSegment(seqName);
+        }
+    }
+}
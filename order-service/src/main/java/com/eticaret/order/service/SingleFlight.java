@@ -0,0 +1,117 @@
+package com.eticaret.order.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Aynı anahtar için eşzamanlı sorguları birleştirir: anahtarı ilk isteyen çağrıyı yapar (leader), o sırada gelenler
+// aynı sonucu bekler (shared). Sonuç saklanmaz; çağrı bitince anahtar bırakılır, sonraki istek yeniden sorgular.
+// Birleştirme oranı: order.singleflight.calls{result=shared} / toplam.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter sharedCounter;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaderCounter = meterRegistry.counter("order.singleflight.calls", "name", name, "result", "leader");
+        this.sharedCounter = meterRegistry.counter("order.singleflight.calls", "name", name, "result", "shared");
+        Gauge.builder("order.singleflight.inflight", inFlight, Map::size)
+                .tag("name", name)
+                .description("Devam eden birleştirilmiş sorgu sayısı")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            sharedCounter.increment();
+            return await(existing);
+        }
+        leaderCounter.increment();
+        // Error dahil her sonuçta bekleyenler bırakılır ve anahtar silinir; aksi halde sonraki çağrılar sonsuza dek bekler
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // Toplu sorgu: başka bir çağrıda devam eden anahtarlar beklenir, kalanlar tek batchLoader çağrısıyla alınır.
+    // batchLoader'ın döndürmediği anahtarlar sonuçta yer almaz.
+    public Map<K, V> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> batchLoader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+        for (K key : keys) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                joined.put(key, existing);
+            } else {
+                owned.put(key, future);
+            }
+        }
+        leaderCounter.increment(owned.size());
+        sharedCounter.increment(joined.size());
+
+        Map<K, V> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            // Önce kendi anahtarlarımız yüklenir, sonra başkalarınınki beklenir; karşılıklı bekleme oluşmaz
+            try {
+                Map<K, V> loaded = batchLoader.apply(new ArrayList<>(owned.keySet()));
+                owned.forEach((key, future) -> {
+                    V value = loaded.get(key);
+                    future.complete(value);
+                    if (value != null) {
+                        result.put(key, value);
+                    }
+                });
+            } catch (Throwable e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+        joined.forEach((key, future) -> {
+            V value = await(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.model.StockReleaseRetry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+
+// Ertelenen stok serbest bırakma isteklerini artan bekleme süresiyle tekrar dener.
+// Stock Service aynı releaseId ile gelen kalemleri ikinci kez uygulamaz.
+@Slf4j
+@Component
+public class StockReleaseRetrier {
+
+    private final StockReleaseService stockReleaseService;
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration maxBackoff;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter releasedCounter;
+    private final Counter failedCounter;
+
+    public StockReleaseRetrier(StockReleaseService stockReleaseService,
+                               MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${order.stock-release.retry.batch-size:50}") int batchSize,
+                               @Value("${order.stock-release.retry.lease-seconds:60}") long leaseSeconds,
+                               @Value("${order.stock-release.retry.max-backoff-seconds:600}") long maxBackoffSeconds) {
+        this.stockReleaseService = stockReleaseService;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.releasedCounter = meterRegistry.counter("order.stock_release.retry", "result", "released");
+        this.failedCounter = meterRegistry.counter("order.stock_release.retry", "result", "failed");
+        Gauge.builder("order.stock_release.retry.pending", pending, AtomicLong::get)
+                .description("Tekrar denenmeyi bekleyen stok serbest bırakma istekleri")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.stock-release.retry.interval-ms:5000}")
+    public void retryPending() {
+        try {
+            Query due = new Query(Criteria.where("nextAttemptAt").lte(LocalDateTime.now()))
+                    .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"))
+                    .limit(batchSize);
+            List<StockReleaseRetry> candidates = mongoTemplate.find(due, StockReleaseRetry.class);
+            for (StockReleaseRetry candidate : candidates) {
+                StockReleaseRetry retry = claim(candidate.getId());
+                if (retry != null) {
+                    attempt(retry);
+                }
+            }
+            pending.set(mongoTemplate.estimatedCount(StockReleaseRetry.class));
+        } catch (Exception e) {
+            log.error("Stok serbest bırakma tekrar denemesi sırasında hata: {}", e.getMessage(), e);
+        }
+    }
+
+    // Diğer instance'lar aynı kaydı işlemesin diye bir sonraki deneme zamanı ileri alınır
+    private StockReleaseRetry claim(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(id).and("nextAttemptAt").lte(now)),
+                new Update().set("nextAttemptAt", now.plus(lease)),
+                options().returnNew(true),
+                StockReleaseRetry.class);
+    }
+
+    private void attempt(StockReleaseRetry retry) {
+        try {
+            stockReleaseService.send(retry.getId(), retry.getItems());
+            mongoTemplate.remove(new Query(Criteria.where("id").is(retry.getId())), StockReleaseRetry.class);
+            releasedCounter.increment();
+            log.info("Ertelenen stok serbest bırakma tamamlandı: orderId={}, releaseId={}, attempts={}", 
+                    retry.getOrderId(), retry.getId(), retry.getAttempts() + 1);
+        } catch (Exception e) {
+            int attempts = retry.getAttempts() + 1;
+            Duration backoff = backoff(attempts);
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(retry.getId())),
+                    new Update().set("attempts", attempts)
+                            .set("lastError", e.getMessage())
+                            .set("nextAttemptAt", LocalDateTime.now().plus(backoff)),
+                    StockReleaseRetry.class);
+            failedCounter.increment();
+            log.warn("Stok serbest bırakma tekrar denemesi başarısız: orderId={}, releaseId={}, attempts={}, nextInSeconds={}, error={}", 
+                    retry.getOrderId(), retry.getId(), attempts, backoff.toSeconds(), e.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        // 5s, 10s, 20s, ... en fazla maxBackoff
+        long seconds = 5L << Math.min(attempts - 1, 16);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoff.toSeconds()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.client.StockServiceClient;
+import com.eticaret.order.dto.StockDTO;
+import com.eticaret.order.dto.StockReleaseItemDTO;
+import com.eticaret.order.dto.StockReleaseLineDTO;
+import com.eticaret.order.dto.StockReleaseRequestDTO;
+import com.eticaret.order.dto.StockReleaseResponseDTO;
+import com.eticaret.order.exception.ServiceUnavailableException;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.model.OrderItem;
+import com.eticaret.order.model.StockReleaseRetry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Rezerve edilmiş stokları tek toplu istekle serbest bırakır. Stock Service'e ulaşılamazsa istek
+// stock_release_retries koleksiyonuna yazılır ve StockReleaseRetrier tarafından tekrar denenir.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReleaseService {
+
+    private final StockServiceClient stockServiceClient;
+    private final MongoTemplate mongoTemplate;
+    @Qualifier("orderValidationExecutor")
+    private final ThreadPoolTaskExecutor orderValidationExecutor;
+    @Qualifier("stockLookupFlight")
+    private final SingleFlight<String, StockDTO> stockLookupFlight;
+
+    public void releaseOrder(Order order, String reason) {
+        List<StockReleaseItemDTO> items = releaseItems(order);
+        if (!items.isEmpty()) {
+            release(order.getId(), releaseId(order.getId(), reason), items);
+        }
+    }
+
+    public static String releaseId(Long orderId, String reason) {
+        return "order-" + orderId + "-" + reason;
+    }
+
+    // Sonuç false ise istek tekrar deneme kuyruğuna alınmıştır
+    public boolean release(Long orderId, String releaseId, List<StockReleaseItemDTO> items) {
+        try {
+            send(releaseId, items);
+            return true;
+        } catch (Exception e) {
+            log.error("Stoklar serbest bırakılamadı, tekrar denenecek: orderId={}, releaseId={}, error={}", 
+                    orderId, releaseId, e.getMessage(), e);
+            scheduleRetry(orderId, releaseId, items, e.getMessage());
+            return false;
+        }
+    }
+
+    void send(String releaseId, List<StockReleaseItemDTO> items) {
+        StockReleaseResponseDTO response = stockServiceClient.releaseStocks(new StockReleaseRequestDTO(releaseId, items));
+        if (response == null || response.getLines() == null) {
+            throw new ServiceUnavailableException("Stock Service", "Serbest bırakma yanıtı alınamadı");
+        }
+        for (StockReleaseLineDTO line : response.getLines()) {
+            if ("RELEASED".equals(line.getStatus()) || "ALREADY_RELEASED".equals(line.getStatus())) {
+                log.info("Stok serbest bırakıldı: releaseId={}, stockId={}, quantity={}, status={}", 
+                        releaseId, line.getStockId(), line.getQuantity(), line.getStatus());
+            } else {
+                // Kalıcı hata (stok silinmiş veya rezerve miktar yetersiz); tekrar denemek sonucu değiştirmez
+                log.warn("Stok serbest bırakılamadı: releaseId={}, stockId={}, quantity={}, status={}", 
+                        releaseId, line.getStockId(), line.getQuantity(), line.getStatus());
+            }
+        }
+    }
+
+    private void scheduleRetry(Long orderId, String releaseId, List<StockReleaseItemDTO> items, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        StockReleaseRetry retry = new StockReleaseRetry(releaseId, orderId, items, 0, error, now, now);
+        try {
+            mongoTemplate.save(retry);
+        } catch (Exception e) {
+            log.error("Stok serbest bırakma tekrar deneme kuyruğuna yazılamadı: orderId={}, releaseId={}, items={}, error={}", 
+                    orderId, releaseId, items, e.getMessage(), e);
+        }
+    }
+
+    // Kalemler stok kaydına göre birleştirilir; stockId'si olmayan eski siparişler için stok paralel sorgulanır,
+    // aynı ürün için eşzamanlı sorgular tek çağrıda birleştirilir
+    private List<StockReleaseItemDTO> releaseItems(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        List<OrderItem> legacyItems = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            if (item.getStockId() != null) {
+                quantities.merge(item.getStockId(), item.getQuantity(), Integer::sum);
+            } else {
+                legacyItems.add(item);
+            }
+        }
+        
+        if (!legacyItems.isEmpty()) {
+            List<CompletableFuture<StockDTO>> lookups = new ArrayList<>();
+            for (OrderItem item : legacyItems) {
+                lookups.add(CompletableFuture.supplyAsync(
+                        () -> stockLookupFlight.execute(item.getProductId(),
+                                () -> stockServiceClient.getStockByProductId(item.getProductId())),
+                        orderValidationExecutor));
+            }
+            for (int i = 0; i < legacyItems.size(); i++) {
+                OrderItem item = legacyItems.get(i);
+                try {
+                    StockDTO stock = lookups.get(i).join();
+                    if (stock != null) {
+                        quantities.merge(stock.getId(), item.getQuantity(), Integer::sum);
+                        continue;
+                    }
+                    log.error("Stok bulunamadı, kalem serbest bırakılamadı: orderId={}, productId={}", order.getId(), item.getProductId());
+                } catch (Exception e) {
+                    log.error("Stok sorgulanamadı, kalem serbest bırakılamadı: orderId={}, productId={}, error={}", 
+                            order.getId(), item.getProductId(), e.getMessage(), e);
+                }
+            }
+        }
+        
+        List<StockReleaseItemDTO> items = new ArrayList<>();
+        quantities.forEach((stockId, quantity) -> items.add(new StockReleaseItemDTO(stockId, quantity)));
+        return items;
+    }
+}
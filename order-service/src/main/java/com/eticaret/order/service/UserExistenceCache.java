@@ -0,0 +1,82 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.client.UserServiceClient;
+import com.eticaret.order.exception.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Sipariş veren kullanıcıların varlığını önbelleğe alır; tekrar sipariş veren kullanıcı için User Service çağrılmaz.
+// Var olan kullanıcılar ttl boyunca, 404 dönenler negative-ttl boyunca tutulur. Kayıt refresh süresini geçince
+// arka planda yenilenir (refresh-ahead); yenileme başarısız olursa eski değer ttl dolana kadar kullanılır.
+// User Service'e ulaşılamaması önbelleğe yazılmaz ve 503 olarak döner.
+@Slf4j
+@Component
+public class UserExistenceCache {
+
+    private final UserServiceClient userServiceClient;
+    private final LoadingCache<Long, Boolean> users;
+
+    public UserExistenceCache(UserServiceClient userServiceClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.user-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${order.user-cache.ttl-minutes:30}") long ttlMinutes,
+                              @Value("${order.user-cache.refresh-minutes:10}") long refreshMinutes,
+                              @Value("${order.user-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.userServiceClient = userServiceClient;
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Boolean exists, long currentTime) {
+                        return (exists ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return (exists ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .refreshAfterWrite(Duration.ofMinutes(refreshMinutes))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "order.user-existence");
+    }
+
+    public boolean exists(Long userId) {
+        return users.get(userId);
+    }
+
+    public void invalidate(Long userId) {
+        users.invalidate(userId);
+        log.debug("Kullanıcı doğrulama önbelleğinden çıkarıldı: userId={}", userId);
+    }
+
+    // 404 null döner (dismiss404); erişim hatası fallback'te ServiceUnavailableException olarak fırlatılır
+    private Boolean load(Long userId) {
+        try {
+            boolean exists = userServiceClient.getUserById(userId) != null;
+            log.debug("Kullanıcı User Service'ten doğrulandı: userId={}, exists={}", userId, exists);
+            return exists;
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Kullanıcı doğrulama hatası: userId={}, error={}", userId, e.getMessage(), e);
+            throw new ServiceUnavailableException("User Service", e.getMessage());
+        }
+    }
+}
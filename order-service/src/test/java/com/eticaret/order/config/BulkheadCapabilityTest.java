@@ -0,0 +1,119 @@
+package com.eticaret.order.config;
+
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.RequestLine;
+import feign.Response;
+import feign.Target.HardCodedTarget;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Gecikme enjeksiyonu: yavaş stock-service kendi bulkhead'ini doldurur; diğer servislere giden çağrılar etkilenmez
+class BulkheadCapabilityTest {
+
+    private static final int STOCK_LIMIT = 4;
+
+    private final CountDownLatch stockEntered = new CountDownLatch(STOCK_LIMIT);
+    private final CountDownLatch releaseStock = new CountDownLatch(1);
+    private ExecutorService executor;
+    private BulkheadRegistry bulkheadRegistry;
+
+    interface PingClient {
+        @RequestLine("GET /ping")
+        String ping();
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(STOCK_LIMIT);
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(STOCK_LIMIT)
+                .maxWaitDuration(Duration.ofMillis(20))
+                .build();
+        bulkheadRegistry = BulkheadRegistry.of(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStock.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowStockServiceDoesNotStarveOtherClients() throws Exception {
+        PingClient userClient = client("user-service");
+        PingClient productClient = client("product-service");
+        PingClient stockClient = client("stock-service");
+
+        // stock-service bulkhead'i yanıt vermeyen çağrılarla doldurulur
+        List<Future<String>> slowCalls = new ArrayList<>();
+        for (int i = 0; i < STOCK_LIMIT; i++) {
+            slowCalls.add(executor.submit(stockClient::ping));
+        }
+        assertThat(stockEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(userClient.ping()).isEqualTo("user-service");
+        assertThat(productClient.ping()).isEqualTo("product-service");
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(stockClient::ping).isInstanceOf(BulkheadFullException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(1));
+
+        // Yavaş çağrılar bitince bulkhead boşalır ve stock-service yeniden çağrılabilir
+        releaseStock.countDown();
+        for (Future<String> slowCall : slowCalls) {
+            assertThat(slowCall.get(5, TimeUnit.SECONDS)).isEqualTo("stock-service");
+        }
+        assertThat(bulkheadRegistry.bulkhead("stock-service").getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(STOCK_LIMIT);
+    }
+
+    private PingClient client(String name) {
+        return Feign.builder()
+                .client(new StubClient())
+                .addCapability(new BulkheadCapability(bulkheadRegistry))
+                .target(new HardCodedTarget<>(PingClient.class, name, "http://" + name));
+    }
+
+    // Yanıt gövdesi hedef servisin adıdır; stock-service testin izin vermesine kadar bekletilir
+    private final class StubClient implements Client {
+        @Override
+        public Response execute(Request request, Request.Options options) {
+            String host = URI.create(request.url()).getHost();
+            if ("stock-service".equals(host)) {
+                stockEntered.countDown();
+                try {
+                    releaseStock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Response.builder()
+                    .request(request)
+                    .status(200)
+                    .headers(Map.of())
+                    .body(host, StandardCharsets.UTF_8)
+                    .build();
+        }
+    }
+}
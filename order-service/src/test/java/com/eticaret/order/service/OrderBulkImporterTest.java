@@ -0,0 +1,161 @@
+package com.eticaret.order.service;
+
+import com.eticaret.order.dto.BulkOrderResultDTO;
+import com.eticaret.order.dto.ProductDTO;
+import com.eticaret.order.exception.InsufficientStockException;
+import com.eticaret.order.mapper.OrderMapper;
+import com.eticaret.order.model.Order;
+import com.eticaret.order.service.OrderCreationStages.Reservation;
+import com.eticaret.order.service.OrderCreationStages.ValidationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderBulkImporterTest {
+
+    private static final int MAX_LINE_LENGTH = 300;
+    private static final long UNKNOWN_USER = 99L;
+    private static final long UNWRITABLE_USER = 7L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong(1000);
+    private OrderCreationStages stages;
+    private OutboxService outboxService;
+    private ThreadPoolTaskExecutor executor;
+    private ValidatorFactory validatorFactory;
+    private OrderBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        stages = mock(OrderCreationStages.class);
+        outboxService = mock(OutboxService.class);
+        UserExistenceCache userExistenceCache = mock(UserExistenceCache.class);
+        when(userExistenceCache.exists(anyLong())).thenAnswer(invocation -> !invocation.getArgument(0).equals(UNKNOWN_USER));
+
+        when(stages.findProducts(any())).thenReturn(Map.of(
+                "p-1", product("p-1", "10.00"),
+                "p-2", product("p-2", "20.00"),
+                "p-scarce", product("p-scarce", "5.00")));
+        doAnswer(invocation -> {
+            invocation.<Order>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(stages).assignId(any());
+        // Tek istekte rezervasyon başarısız: siparişler tek tek denenir
+        when(stages.reserveCombined(anyMap())).thenReturn(null);
+        when(stages.reserve(any(), any())).thenAnswer(invocation -> {
+            ValidationResult validation = invocation.getArgument(1);
+            if (validation.requestedQuantities().containsKey("p-scarce")) {
+                throw new InsufficientStockException("p-scarce", 0, 1);
+            }
+            List<Reservation> reservations = new ArrayList<>();
+            validation.requestedQuantities().forEach((productId, quantity) ->
+                    reservations.add(new Reservation(productId, 1L, quantity)));
+            return reservations;
+        });
+        // Bulk insert kısmen başarısız: UNWRITABLE_USER'ın siparişleri yazılamaz
+        when(outboxService.insertAllWithEvents(any(), anyString())).thenAnswer(invocation -> invocation.<List<Order>>getArgument(0)
+                .stream()
+                .filter(order -> !order.getUserId().equals(UNWRITABLE_USER))
+                .toList());
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importer = new OrderBulkImporter(stages, userExistenceCache, outboxService, new OrderMapper(),
+                validatorFactory.getValidator(), objectMapper, new SimpleMeterRegistry(), executor, 3, MAX_LINE_LENGTH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        validatorFactory.close();
+    }
+
+    @Test
+    void reportsEachLineWhenChunksPartiallyFail() throws Exception {
+        String body = String.join("\n",
+                order(1, "p-1"),
+                order(1, "p-scarce"),
+                order(UNWRITABLE_USER, "p-2"),
+                "{\"userId\": 1, \"items\": [{\"productId\": \"p-1\", \"productName\": \"" + "x".repeat(MAX_LINE_LENGTH) + "\", \"quantity\": 1}]}",
+                "{not json",
+                "",
+                order(UNKNOWN_USER, "p-1"),
+                order(2, "p-2"));
+
+        List<BulkOrderResultDTO> results = importOrders(body);
+
+        assertThat(results).extracting(BulkOrderResultDTO::getLine).containsExactly(1L, 2L, 3L, 4L, 5L, 7L, 8L);
+        assertThat(results).extracting(BulkOrderResultDTO::getStatus)
+                .containsExactly("CREATED", "FAILED", "FAILED", "FAILED", "FAILED", "FAILED", "CREATED");
+        assertThat(results).extracting(BulkOrderResultDTO::getErrorStatus)
+                .containsExactly(null, 400, 500, 413, 400, 404, null);
+        assertThat(results.get(0).getOrderId()).isNotNull();
+
+        // Yalnızca yazılamayan siparişin rezervasyonu geri alınır
+        Long unwritten = 1000L + 3;
+        verify(stages).releaseReservations(eq(unwritten), eq(List.of(new Reservation("p-2", 1L, 1))));
+        verify(stages, never()).releaseReservations(eq(1000L + 1), any());
+    }
+
+    @Test
+    void combinedReservationSkipsPerOrderFallback() throws Exception {
+        when(stages.reserveCombined(anyMap())).thenReturn(Map.of("p-1", 11L, "p-2", 12L));
+
+        List<BulkOrderResultDTO> results = importOrders(String.join("\r\n", order(1, "p-1"), order(2, "p-2")));
+
+        assertThat(results).extracting(BulkOrderResultDTO::getStatus).containsExactly("CREATED", "CREATED");
+        verify(stages, never()).reserve(any(), any());
+        verify(stages, never()).releaseReservations(any(), any());
+    }
+
+    private List<BulkOrderResultDTO> importOrders(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkOrderResultDTO.class));
+        }
+        return results;
+    }
+
+    private static String order(long userId, String productId) {
+        return "{\"userId\": " + userId + ", \"items\": [{\"productId\": \"" + productId
+                + "\", \"productName\": \"" + productId + "\", \"quantity\": 1}]}";
+    }
+
+    private static ProductDTO product(String id, String price) {
+        ProductDTO product = new ProductDTO();
+        product.setId(id);
+        product.setName(id);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
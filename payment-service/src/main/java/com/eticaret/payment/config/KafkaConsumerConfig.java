@@ -0,0 +1,16 @@
+package com.eticaret.payment.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    // Mesajlar byte[] olarak okunur ve listener parametresinin tipine göre JSON'dan çevrilir (tip başlığı gerekmez)
+    @Bean
+    public RecordMessageConverter kafkaMessageConverter() {
+        return new ByteArrayJsonMessageConverter();
+    }
+}
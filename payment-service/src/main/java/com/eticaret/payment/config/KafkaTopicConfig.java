@@ -0,0 +1,22 @@
+package com.eticaret.payment.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${payment.kafka.topics.partitions:6}")
+    private int partitions;
+
+    @Value("${payment.kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic paymentCompletedTopic() {
+        return TopicBuilder.name("payment-completed").partitions(partitions).replicas(replicas).build();
+    }
+}
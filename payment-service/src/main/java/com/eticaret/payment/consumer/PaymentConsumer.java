@@ -1,5 +1,6 @@
 package com.eticaret.payment.consumer;
 
+import com.eticaret.payment.event.OrderCreatedEvent;
 import com.eticaret.payment.model.PaymentRequest;
 import com.eticaret.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
@@ -10,9 +11,6 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.Map;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -20,15 +18,16 @@ public class PaymentConsumer {
 
     private final PaymentService paymentService;
 
-    @KafkaListener(topics = "order-created", groupId = "payment-service-group")
+    @KafkaListener(topics = "order-created", groupId = "payment-service-group",
+            concurrency = "${payment.kafka.listener.concurrency:3}")
     public void consumeOrderCreated(
-            @Payload Map<String, Object> orderData,
+            @Payload OrderCreatedEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         try {
             log.info("--- [PAYMENT MOCK] RECEIVED ORDER-CREATED EVENT ---");
-            Long orderId = Long.valueOf(orderData.get("id").toString());
+            Long orderId = event.orderId();
             
-            log.info("Processing automatic payment for OrderId: {}", orderId);
+            log.info("Processing automatic payment for OrderId: {}, Amount: {}", orderId, event.totalAmount());
             
             PaymentRequest request = new PaymentRequest();
             request.setOrderId(orderId);
@@ -0,0 +1,20 @@
+package com.eticaret.payment.event;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Order Service'in yayınladığı order-created olayı (v1); yalnızca ödeme için gereken alanlar okunur
+public record OrderCreatedEvent(
+        int version,
+        @JsonAlias("id") Long orderId,
+        Long userId,
+        BigDecimal totalAmount,
+        String status,
+        long occurredAt,
+        List<Line> items) {
+
+    public record Line(String productId, String productName, Integer quantity, Long lineTotalMinor) {
+    }
+}
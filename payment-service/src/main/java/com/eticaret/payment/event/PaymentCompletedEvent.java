@@ -0,0 +1,18 @@
+package com.eticaret.payment.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// payment-completed olayı (v1); Order Service'teki tanımla aynı alanları taşır
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaymentCompletedEvent(
+        int version,
+        Long orderId,
+        String status,
+        long timestamp) {
+
+    public static final int VERSION = 1;
+
+    public static PaymentCompletedEvent of(Long orderId, String status) {
+        return new PaymentCompletedEvent(VERSION, orderId, status, System.currentTimeMillis());
+    }
+}
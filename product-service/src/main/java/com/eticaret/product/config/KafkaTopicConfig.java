@@ -0,0 +1,23 @@
+package com.eticaret.product.config;
+
+import com.eticaret.product.producer.ProductEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${product.kafka.topics.partitions:3}")
+    private int partitions;
+
+    @Value("${product.kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic productChangedTopic() {
+        return TopicBuilder.name(ProductEventProducer.TOPIC).partitions(partitions).replicas(replicas).compact().build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.eticaret.product.controller;
 
+import com.eticaret.product.dto.ProductBatchRequestDTO;
 import com.eticaret.product.dto.ProductRequestDTO;
 import com.eticaret.product.dto.ProductResponseDTO;
 import com.eticaret.product.mapper.ProductMapper;
@@ -71,6 +72,26 @@ public class ProductController {
         }
     }
 
+    @Operation(summary = "Ürünleri toplu getir", description = "Verilen ID listesine ait ürünleri tek sorguda getirir. Bulunamayan ID'ler yanıtta yer almaz.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz istek verisi (boş liste veya 1000'den fazla ID)")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductResponseDTO>> getProductsByIds(@Valid @RequestBody ProductBatchRequestDTO batchRequestDTO) {
+        log.info("POST /products/batch - Toplu ürün getirme isteği alındı: count={}", batchRequestDTO.getIds().size());
+        try {
+            List<ProductResponseDTO> responseDTOs = productService.getProductsByIds(batchRequestDTO.getIds()).stream()
+                    .map(productMapper::toResponseDTO)
+                    .collect(Collectors.toList());
+            log.info("POST /products/batch - {} ürün başarıyla getirildi", responseDTOs.size());
+            return ResponseEntity.ok(responseDTOs);
+        } catch (Exception e) {
+            log.error("POST /products/batch - Ürünler getirilirken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Operation(summary = "Ürünleri listele", description = "Tüm ürünleri, kategoriye göre veya isme göre filtreleyerek listeler.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ürün listesi başarıyla getirildi")
@@ -0,0 +1,18 @@
+package com.eticaret.product.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequestDTO {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<String> ids;
+}
@@ -0,0 +1,32 @@
+package com.eticaret.product.event;
+
+import com.eticaret.product.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+// product-changed olayı (v1): sipariş tarafının ihtiyaç duyduğu ürün alanları. DELETED olayında yalnızca productId dolu.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductChangedEvent(
+        int version,
+        Type type,
+        String productId,
+        String name,
+        BigDecimal price,
+        long occurredAt) {
+
+    public static final int VERSION = 1;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProductChangedEvent of(Type type, Product product) {
+        return new ProductChangedEvent(VERSION, type, product.getId(), product.getName(), product.getPrice(),
+                System.currentTimeMillis());
+    }
+
+    public static ProductChangedEvent deleted(String productId) {
+        return new ProductChangedEvent(VERSION, Type.DELETED, productId, null, null, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package com.eticaret.product.producer;
+
+import com.eticaret.product.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductEventProducer {
+
+    public static final String TOPIC = "product-changed";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // Gönderim asenkron; hata ürün işlemini geri almaz (tüketiciler eksik ürünü Product Service'ten sorgular).
+    // send() metadata beklerken ya da serileştirmede senkron hata da fırlatabilir; o da yalnızca loglanır.
+    public void sendProductChanged(ProductChangedEvent event) {
+        log.debug("product-changed olayı gönderiliyor: productId={}, type={}", event.productId(), event.type());
+        try {
+            kafkaTemplate.send(TOPIC, event.productId(), event).whenComplete((result, e) -> {
+                if (e != null) {
+                    logFailure(event, e);
+                }
+            });
+        } catch (Exception e) {
+            logFailure(event, e);
+        }
+    }
+
+    private static void logFailure(ProductChangedEvent event, Throwable e) {
+        log.error("product-changed olayı gönderilemedi: productId={}, type={}, error={}",
+                event.productId(), event.type(), e.getMessage());
+    }
+}
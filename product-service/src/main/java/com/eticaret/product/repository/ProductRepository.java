@@ -2,10 +2,12 @@ package com.eticaret.product.repository;
 
 import com.eticaret.product.model.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepository extends MongoRepository<Product, String> {
     List<Product> findByCategory(String category);
     List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByIdIn(Collection<String> ids);
 }
 
@@ -7,6 +7,7 @@ import java.util.List;
 public interface IProductService {
     Product createProduct(Product product);
     Product getProductById(String id);
+    List<Product> getProductsByIds(List<String> ids);
     List<Product> getAllProducts();
     List<Product> getProductsByCategory(String category);
     List<Product> searchProducts(String name);
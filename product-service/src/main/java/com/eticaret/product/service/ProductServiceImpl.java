@@ -1,14 +1,18 @@
 package com.eticaret.product.service;
 
+import com.eticaret.product.event.ProductChangedEvent;
 import com.eticaret.product.exception.ResourceNotFoundException;
 import com.eticaret.product.model.Product;
+import com.eticaret.product.producer.ProductEventProducer;
 import com.eticaret.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -17,20 +21,24 @@ import java.util.List;
 public class ProductServiceImpl implements IProductService {
     
     private final ProductRepository productRepository;
+    private final ProductEventProducer productEventProducer;
 
     @Override
     public Product createProduct(Product product) {
         log.info("Yeni ürün oluşturuluyor: name={}, category={}, price={}", 
                 product.getName(), product.getCategory(), product.getPrice());
+        Product savedProduct;
         try {
             // ID MongoDB tarafından otomatik oluşturulacak (random ObjectId)
-            Product savedProduct = productRepository.save(product);
+            savedProduct = productRepository.save(product);
             log.info("Ürün başarıyla oluşturuldu: id={}, name={}", savedProduct.getId(), savedProduct.getName());
-            return savedProduct;
         } catch (Exception e) {
             log.error("Ürün oluşturulurken hata: name={}, error={}", product.getName(), e.getMessage(), e);
             throw new RuntimeException("Ürün oluşturulamadı: " + e.getMessage());
         }
+        // Ürün yazıldıktan sonra yayınlanır; olay hatası oluşturma hatası olarak dönmez
+        productEventProducer.sendProductChanged(ProductChangedEvent.of(ProductChangedEvent.Type.CREATED, savedProduct));
+        return savedProduct;
     }
 
     @Override
@@ -45,6 +53,16 @@ public class ProductServiceImpl implements IProductService {
         return product;
     }
 
+    @Override
+    public List<Product> getProductsByIds(List<String> ids) {
+        // Tekrarlanan ID'ler tek bir $in sorgusunda birleştirilir
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        log.debug("Ürünler toplu olarak getiriliyor: count={}", uniqueIds.size());
+        List<Product> products = productRepository.findByIdIn(uniqueIds);
+        log.info("Toplu ürün sorgusu: istenen={}, bulunan={}", uniqueIds.size(), products.size());
+        return products;
+    }
+
     @Override
     public List<Product> getAllProducts() {
         log.debug("Tüm ürünler getiriliyor");
@@ -82,6 +100,7 @@ public class ProductServiceImpl implements IProductService {
         
         Product updatedProduct = productRepository.save(existingProduct);
         log.info("Ürün başarıyla güncellendi: id={}, name={}", updatedProduct.getId(), updatedProduct.getName());
+        productEventProducer.sendProductChanged(ProductChangedEvent.of(ProductChangedEvent.Type.UPDATED, updatedProduct));
         return updatedProduct;
     }
 
@@ -94,6 +113,7 @@ public class ProductServiceImpl implements IProductService {
         }
         productRepository.deleteById(id);
         log.info("Ürün başarıyla silindi: id={}", id);
+        productEventProducer.sendProductChanged(ProductChangedEvent.deleted(id));
     }
 }
 
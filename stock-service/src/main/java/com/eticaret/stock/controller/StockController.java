@@ -1,6 +1,10 @@
 package com.eticaret.stock.controller;
 
+import com.eticaret.stock.dto.StockReleaseRequestDTO;
+import com.eticaret.stock.dto.StockReleaseResponseDTO;
 import com.eticaret.stock.dto.StockRequestDTO;
+import com.eticaret.stock.dto.StockReservationRequestDTO;
+import com.eticaret.stock.dto.StockReservationResponseDTO;
 import com.eticaret.stock.dto.StockResponseDTO;
 import com.eticaret.stock.mapper.StockMapper;
 import com.eticaret.stock.model.Stock;
@@ -185,6 +189,43 @@ public class StockController {
         }
     }
 
+    @Operation(summary = "Çoklu stok rezervasyonu", description = "Birden fazla ürün için stoku tek istekte, hepsi ya da hiçbiri prensibiyle rezerve eder. Herhangi bir kalem rezerve edilemezse uygulanmış rezervasyonlar geri alınır. Yanıt her kalem için sonucu içerir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İşlem tamamlandı; reserved=false ise hiçbir kalem rezerve edilmemiştir"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz istek verisi")
+    })
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservationResponseDTO> reserveStocks(@Valid @RequestBody StockReservationRequestDTO reservationRequestDTO) {
+        log.info("POST /stocks/reservations - Çoklu stok rezervasyonu isteği alındı: items={}", reservationRequestDTO.getItems().size());
+        try {
+            StockReservationResponseDTO responseDTO = stockService.reserveStocks(reservationRequestDTO.getItems());
+            log.info("POST /stocks/reservations - Çoklu stok rezervasyonu tamamlandı: reserved={}", responseDTO.isReserved());
+            return ResponseEntity.ok(responseDTO);
+        } catch (Exception e) {
+            log.error("POST /stocks/reservations - Stok rezerve edilirken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Operation(summary = "Çoklu stok serbest bırakma", description = "Birden fazla stok kaydındaki rezervasyonu tek istekte serbest bırakır. releaseId verilirse aynı istek tekrarlandığında daha önce bırakılmış kalemler ikinci kez bırakılmaz. Yanıt her kalem için sonucu içerir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İşlem tamamlandı; released=false ise bazı kalemler serbest bırakılamamıştır"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz istek verisi")
+    })
+    @PostMapping("/reservations/release")
+    public ResponseEntity<StockReleaseResponseDTO> releaseStocks(@Valid @RequestBody StockReleaseRequestDTO releaseRequestDTO) {
+        log.info("POST /stocks/reservations/release - Çoklu stok serbest bırakma isteği alındı: releaseId={}, items={}", 
+                releaseRequestDTO.getReleaseId(), releaseRequestDTO.getItems().size());
+        try {
+            StockReleaseResponseDTO responseDTO = stockService.releaseStocks(releaseRequestDTO);
+            log.info("POST /stocks/reservations/release - Çoklu stok serbest bırakma tamamlandı: released={}", responseDTO.isReleased());
+            return ResponseEntity.ok(responseDTO);
+        } catch (Exception e) {
+            log.error("POST /stocks/reservations/release - Stok serbest bırakılırken hata: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Operation(summary = "Stok kaydını sil", description = "ID'ye göre stok kaydını sistemden siler.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Stok kaydı başarıyla silindi"),
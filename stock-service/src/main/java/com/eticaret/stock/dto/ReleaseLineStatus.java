@@ -0,0 +1,8 @@
+package com.eticaret.stock.dto;
+
+public enum ReleaseLineStatus {
+    RELEASED,
+    ALREADY_RELEASED,
+    INSUFFICIENT_RESERVED,
+    NOT_FOUND
+}
@@ -0,0 +1,9 @@
+package com.eticaret.stock.dto;
+
+public enum ReservationLineStatus {
+    RESERVED,
+    INSUFFICIENT_STOCK,
+    NOT_FOUND,
+    ROLLED_BACK,
+    SKIPPED
+}
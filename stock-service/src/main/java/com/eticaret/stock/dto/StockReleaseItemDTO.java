@@ -0,0 +1,19 @@
+package com.eticaret.stock.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseItemDTO {
+    @NotNull
+    private Long stockId;
+    
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+}
@@ -0,0 +1,14 @@
+package com.eticaret.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseLineDTO {
+    private Long stockId;
+    private Integer quantity;
+    private ReleaseLineStatus status;
+}
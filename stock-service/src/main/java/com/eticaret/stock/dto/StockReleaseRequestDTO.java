@@ -0,0 +1,23 @@
+package com.eticaret.stock.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseRequestDTO {
+    // Verilirse aynı releaseId ile tekrarlanan istek bir kalemi ikinci kez serbest bırakmaz
+    @Size(max = 200)
+    private String releaseId;
+    
+    @NotEmpty
+    @Valid
+    private List<StockReleaseItemDTO> items;
+}
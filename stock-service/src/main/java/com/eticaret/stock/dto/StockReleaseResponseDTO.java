@@ -0,0 +1,16 @@
+package com.eticaret.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseResponseDTO {
+    // Tüm kalemler serbest bırakıldıysa (veya daha önce bırakılmışsa) true
+    private boolean released;
+    private List<StockReleaseLineDTO> lines;
+}
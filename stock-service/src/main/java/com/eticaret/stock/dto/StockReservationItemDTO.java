@@ -0,0 +1,20 @@
+package com.eticaret.stock.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationItemDTO {
+    @NotBlank
+    private String productId;
+    
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+}
@@ -0,0 +1,16 @@
+package com.eticaret.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationLineDTO {
+    private String productId;
+    private Long stockId;
+    private Integer quantity;
+    private ReservationLineStatus status;
+    private Integer availableQuantity;
+}
@@ -0,0 +1,18 @@
+package com.eticaret.stock.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequestDTO {
+    @NotEmpty
+    @Valid
+    private List<StockReservationItemDTO> items;
+}
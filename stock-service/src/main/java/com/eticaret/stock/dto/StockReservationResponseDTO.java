@@ -0,0 +1,16 @@
+package com.eticaret.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponseDTO {
+    // false ise hiçbir kalem rezerve edilmemiştir (uygulanan rezervasyonlar geri alınmıştır)
+    private boolean reserved;
+    private List<StockReservationLineDTO> lines;
+}
@@ -1,5 +1,9 @@
 package com.eticaret.stock.service;
 
+import com.eticaret.stock.dto.StockReleaseRequestDTO;
+import com.eticaret.stock.dto.StockReleaseResponseDTO;
+import com.eticaret.stock.dto.StockReservationItemDTO;
+import com.eticaret.stock.dto.StockReservationResponseDTO;
 import com.eticaret.stock.model.Stock;
 
 import java.util.List;
@@ -12,6 +16,8 @@ public interface IStockService {
     Stock updateStock(Long id, Stock stock);
     Stock reserveStock(Long id, Integer quantity);
     Stock releaseStock(Long id, Integer quantity);
+    StockReservationResponseDTO reserveStocks(List<StockReservationItemDTO> items);
+    StockReleaseResponseDTO releaseStocks(StockReleaseRequestDTO request);
     void deleteStock(Long id);
 }
 
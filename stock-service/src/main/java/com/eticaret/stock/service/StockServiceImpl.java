@@ -1,5 +1,14 @@
 package com.eticaret.stock.service;
 
+import com.eticaret.stock.dto.ReleaseLineStatus;
+import com.eticaret.stock.dto.ReservationLineStatus;
+import com.eticaret.stock.dto.StockReleaseItemDTO;
+import com.eticaret.stock.dto.StockReleaseLineDTO;
+import com.eticaret.stock.dto.StockReleaseRequestDTO;
+import com.eticaret.stock.dto.StockReleaseResponseDTO;
+import com.eticaret.stock.dto.StockReservationItemDTO;
+import com.eticaret.stock.dto.StockReservationLineDTO;
+import com.eticaret.stock.dto.StockReservationResponseDTO;
 import com.eticaret.stock.exception.DuplicateResourceException;
 import com.eticaret.stock.exception.InsufficientStockException;
 import com.eticaret.stock.exception.ResourceNotFoundException;
@@ -7,21 +16,44 @@ import com.eticaret.stock.model.Stock;
 import com.eticaret.stock.repository.StockRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
 
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class StockServiceImpl implements IStockService {
+
+    // Uygulanmış serbest bırakma isteklerinin ID'leri stok dokümanında tutulur (Stock modeline eşlenmez).
+    // Tekrar denemeler birkaç saniye içinde geldiğinden son RELEASE_HISTORY kayıt yeterlidir.
+    private static final String RELEASE_IDS = "releaseIds";
+    private static final int RELEASE_HISTORY = 200;
     
     private final StockRepository stockRepository;
     private final SequenceService sequenceService;
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
 
     @Override
     @CacheEvict(value = "stocks", key = "#stock.productId")
@@ -93,11 +125,16 @@ public class StockServiceImpl implements IStockService {
         log.info("Stok güncelleniyor: id={}", id);
         Stock existingStock = getStockById(id);
         
-        existingStock.setQuantity(stock.getQuantity());
-        existingStock.setReservedQuantity(stock.getReservedQuantity());
-        existingStock.setLocation(stock.getLocation());
-        
-        Stock updatedStock = stockRepository.save(existingStock);
+        // Doküman yeniden yazılmaz; modelde olmayan alanlar (releaseIds) korunur
+        Update update = new Update()
+                .set("quantity", stock.getQuantity())
+                .set("reservedQuantity", stock.getReservedQuantity())
+                .set("location", stock.getLocation());
+        Stock updatedStock = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(existingStock.getId())),
+                update, options().returnNew(true), Stock.class);
+        if (updatedStock == null) {
+            throw new ResourceNotFoundException("Stok", id);
+        }
         log.info("Stok başarıyla güncellendi: id={}, productId={}, quantity={}", 
                 updatedStock.getId(), updatedStock.getProductId(), updatedStock.getQuantity());
         return updatedStock;
@@ -107,16 +144,22 @@ public class StockServiceImpl implements IStockService {
     @CacheEvict(value = "stocks", key = "#result.productId")
     public Stock reserveStock(Long id, Integer quantity) {
         log.info("Stok rezerve ediliyor: id={}, quantity={}", id, quantity);
-        Stock stock = getStockById(id);
         
-        if (stock.getAvailableQuantity() < quantity) {
+        // Tek atomik işlem: yalnızca yeterli stok varsa reservedQuantity artırılır (okuma-değiştirme-yazma yok)
+        Stock updatedStock = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(id).andOperator(hasAvailable(quantity))),
+                new Update().inc("reservedQuantity", quantity),
+                options().returnNew(true),
+                Stock.class);
+        
+        if (updatedStock == null) {
+            // Koşul sağlanmadı: kayıt yok ya da stok yetersiz
+            Stock stock = getStockById(id);
             log.warn("Yetersiz stok: id={}, available={}, requested={}", 
                     id, stock.getAvailableQuantity(), quantity);
             throw new InsufficientStockException(stock.getAvailableQuantity(), quantity);
         }
         
-        stock.setReservedQuantity(stock.getReservedQuantity() + quantity);
-        Stock updatedStock = stockRepository.save(stock);
         log.info("Stok başarıyla rezerve edildi: id={}, reservedQuantity={}", 
                 updatedStock.getId(), updatedStock.getReservedQuantity());
         return updatedStock;
@@ -126,22 +169,183 @@ public class StockServiceImpl implements IStockService {
     @CacheEvict(value = "stocks", key = "#result.productId")
     public Stock releaseStock(Long id, Integer quantity) {
         log.info("Stok serbest bırakılıyor: id={}, quantity={}", id, quantity);
-        Stock stock = getStockById(id);
         
-        if (stock.getReservedQuantity() < quantity) {
+        // Tek atomik işlem: yalnızca rezerve edilmiş miktar yeterliyse azaltılır
+        Stock updatedStock = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(id).and("reservedQuantity").gte(quantity)),
+                new Update().inc("reservedQuantity", -quantity),
+                options().returnNew(true),
+                Stock.class);
+        
+        if (updatedStock == null) {
+            Stock stock = getStockById(id);
             log.warn("Rezerve edilmiş stoktan fazla serbest bırakılamaz: id={}, reserved={}, requested={}", 
                     id, stock.getReservedQuantity(), quantity);
             throw new InsufficientStockException("Rezerve edilmiş stoktan fazla serbest bırakılamaz. Rezerve: " + 
                     stock.getReservedQuantity() + ", İstenen: " + quantity);
         }
         
-        stock.setReservedQuantity(stock.getReservedQuantity() - quantity);
-        Stock updatedStock = stockRepository.save(stock);
         log.info("Stok başarıyla serbest bırakıldı: id={}, reservedQuantity={}", 
                 updatedStock.getId(), updatedStock.getReservedQuantity());
         return updatedStock;
     }
 
+    @Override
+    public StockReservationResponseDTO reserveStocks(List<StockReservationItemDTO> items) {
+        // Aynı ürüne ait satırlar tek bir rezervasyonda birleştirilir
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (StockReservationItemDTO item : items) {
+            requested.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        log.info("Toplu stok rezervasyonu başlatıldı: lines={}", requested.size());
+        
+        List<StockReservationLineDTO> lines = new ArrayList<>();
+        boolean failed = false;
+        try {
+            for (Map.Entry<String, Integer> entry : requested.entrySet()) {
+                String productId = entry.getKey();
+                Integer quantity = entry.getValue();
+                if (failed) {
+                    lines.add(new StockReservationLineDTO(productId, null, quantity, ReservationLineStatus.SKIPPED, null));
+                    continue;
+                }
+                
+                // Koşullu güncelleme: yalnızca yeterli stok varsa reservedQuantity artırılır
+                Stock reserved = mongoTemplate.findAndModify(
+                        new Query(Criteria.where("productId").is(productId).andOperator(hasAvailable(quantity))),
+                        new Update().inc("reservedQuantity", quantity),
+                        options().returnNew(true),
+                        Stock.class);
+                if (reserved != null) {
+                    lines.add(new StockReservationLineDTO(productId, reserved.getId(), quantity, 
+                            ReservationLineStatus.RESERVED, reserved.getAvailableQuantity()));
+                    continue;
+                }
+                
+                failed = true;
+                Optional<Stock> stock = stockRepository.findByProductId(productId);
+                if (stock.isEmpty()) {
+                    log.warn("Toplu rezervasyonda stok bulunamadı: productId={}", productId);
+                    lines.add(new StockReservationLineDTO(productId, null, quantity, ReservationLineStatus.NOT_FOUND, null));
+                } else {
+                    log.warn("Toplu rezervasyonda yetersiz stok: productId={}, available={}, requested={}", 
+                            productId, stock.get().getAvailableQuantity(), quantity);
+                    lines.add(new StockReservationLineDTO(productId, stock.get().getId(), quantity, 
+                            ReservationLineStatus.INSUFFICIENT_STOCK, stock.get().getAvailableQuantity()));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Yarıda kesilen istekte o ana kadar uygulanmış rezervasyonlar geri alınır
+            log.error("Toplu stok rezervasyonu yarıda kesildi, uygulanan rezervasyonlar geri alınıyor: error={}", e.getMessage(), e);
+            rollBackReservations(lines);
+            evictStocks(requested.keySet());
+            throw e;
+        }
+        
+        if (failed) {
+            // Hepsi ya da hiçbiri: uygulanmış rezervasyonlar geri alınır
+            rollBackReservations(lines);
+        }
+        
+        evictStocks(requested.keySet());
+        log.info("Toplu stok rezervasyonu tamamlandı: reserved={}, lines={}", !failed, lines.size());
+        return new StockReservationResponseDTO(!failed, lines);
+    }
+
+    // Her kalem ayrı denenir; biri başarısız olsa da diğerleri geri alınır. Geri alınamayan kalem yanıtta RESERVED
+    // olarak kalır (çağıran serbest bırakabilir) ve hata olarak loglanır.
+    private void rollBackReservations(List<StockReservationLineDTO> lines) {
+        for (StockReservationLineDTO line : lines) {
+            if (line.getStatus() != ReservationLineStatus.RESERVED) {
+                continue;
+            }
+            try {
+                long modified = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("id").is(line.getStockId()).and("reservedQuantity").gte(line.getQuantity())),
+                        new Update().inc("reservedQuantity", -line.getQuantity()),
+                        Stock.class).getModifiedCount();
+                if (modified == 0) {
+                    log.error("Rezervasyon geri alınamadı, stok kaydı bulunamadı ya da rezerve miktar yetersiz: stockId={}, quantity={}",
+                            line.getStockId(), line.getQuantity());
+                    continue;
+                }
+                line.setStatus(ReservationLineStatus.ROLLED_BACK);
+                line.setAvailableQuantity(line.getAvailableQuantity() + line.getQuantity());
+                log.info("Rezervasyon geri alındı: stockId={}, quantity={}", line.getStockId(), line.getQuantity());
+            } catch (RuntimeException e) {
+                log.error("Rezervasyon geri alınamadı: stockId={}, quantity={}, error={}",
+                        line.getStockId(), line.getQuantity(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public StockReleaseResponseDTO releaseStocks(StockReleaseRequestDTO request) {
+        // Aynı stok kaydına ait satırlar tek bir işlemde birleştirilir
+        Map<Long, Integer> requested = new LinkedHashMap<>();
+        for (StockReleaseItemDTO item : request.getItems()) {
+            requested.merge(item.getStockId(), item.getQuantity(), Integer::sum);
+        }
+        log.info("Toplu stok serbest bırakma başlatıldı: releaseId={}, lines={}", request.getReleaseId(), requested.size());
+        
+        List<StockReleaseLineDTO> lines = new ArrayList<>();
+        Set<String> productIds = new LinkedHashSet<>();
+        boolean released = true;
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Long stockId = entry.getKey();
+            Integer quantity = entry.getValue();
+            
+            // İade ve releaseId kaydı aynı dokümanda tek güncellemeyle yapılır; aynı releaseId ile gelen tekrar
+            // istek filtreye uymaz. İkisi arasında çökme ile rezervasyonun kaybolacağı bir ara durum yoktur.
+            Criteria guard = Criteria.where("id").is(stockId).and("reservedQuantity").gte(quantity);
+            Update update = new Update().inc("reservedQuantity", -quantity);
+            if (request.getReleaseId() != null) {
+                guard.and(RELEASE_IDS).ne(request.getReleaseId());
+                update.push(RELEASE_IDS).slice(-RELEASE_HISTORY).each(request.getReleaseId());
+            }
+            Stock stock = mongoTemplate.findAndModify(new Query(guard), update, options().returnNew(true), Stock.class);
+            if (stock != null) {
+                productIds.add(stock.getProductId());
+                lines.add(new StockReleaseLineDTO(stockId, quantity, ReleaseLineStatus.RELEASED));
+                continue;
+            }
+            
+            if (request.getReleaseId() != null && mongoTemplate.exists(
+                    new Query(Criteria.where("id").is(stockId).and(RELEASE_IDS).is(request.getReleaseId())), Stock.class)) {
+                log.info("Kalem daha önce serbest bırakılmış: releaseId={}, stockId={}", request.getReleaseId(), stockId);
+                lines.add(new StockReleaseLineDTO(stockId, quantity, ReleaseLineStatus.ALREADY_RELEASED));
+                continue;
+            }
+            released = false;
+            if (stockRepository.existsById(stockId)) {
+                log.warn("Rezerve edilmiş stoktan fazla serbest bırakılamaz: stockId={}, requested={}", stockId, quantity);
+                lines.add(new StockReleaseLineDTO(stockId, quantity, ReleaseLineStatus.INSUFFICIENT_RESERVED));
+            } else {
+                log.warn("Serbest bırakılacak stok bulunamadı: stockId={}", stockId);
+                lines.add(new StockReleaseLineDTO(stockId, quantity, ReleaseLineStatus.NOT_FOUND));
+            }
+        }
+        
+        evictStocks(productIds);
+        log.info("Toplu stok serbest bırakma tamamlandı: releaseId={}, released={}, lines={}", 
+                request.getReleaseId(), released, lines.size());
+        return new StockReleaseResponseDTO(released, lines);
+    }
+
+    private static Criteria hasAvailable(Integer quantity) {
+        // quantity - reservedQuantity >= istenen miktar
+        return Criteria.expr(ComparisonOperators.valueOf(
+                        ArithmeticOperators.valueOf("quantity").subtract("reservedQuantity"))
+                .greaterThanEqualToValue(quantity));
+    }
+
+    private void evictStocks(Iterable<String> productIds) {
+        Cache cache = cacheManager.getCache("stocks");
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+    }
+
     @Override
     @CacheEvict(value = "stocks", allEntries = true)
     public void deleteStock(Long id) {
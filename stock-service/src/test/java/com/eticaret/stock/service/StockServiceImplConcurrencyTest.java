@@ -0,0 +1,105 @@
+package com.eticaret.stock.service;
+
+import com.eticaret.stock.dto.StockReservationItemDTO;
+import com.eticaret.stock.dto.StockReservationResponseDTO;
+import com.eticaret.stock.model.Stock;
+import com.eticaret.stock.repository.StockRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Koşullu findAndModify rezervasyonunun eşzamanlı isteklerde stoktan fazla satış yapmadığını doğrular
+class StockServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private StockServiceImpl stockService;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "stock-test");
+        StockRepository stockRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(StockRepository.class);
+        stockService = new StockServiceImpl(stockRepository, new SequenceService(mongoTemplate, 10), mongoTemplate,
+                new ConcurrentMapCacheManager("stocks"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void parallelReservationsOnOneSkuNeverOversell() throws Exception {
+        Stock stock = stockService.createStock(new Stock(null, "sku-1", 100, 0, "A1"));
+
+        List<StockReservationResponseDTO> results = runConcurrently(400,
+                () -> stockService.reserveStocks(List.of(new StockReservationItemDTO("sku-1", 1))));
+
+        long reserved = results.stream().filter(StockReservationResponseDTO::isReserved).count();
+        assertThat(reserved).isEqualTo(100);
+        Stock after = mongoTemplate.findById(stock.getId(), Stock.class);
+        assertThat(after.getReservedQuantity()).isEqualTo(100);
+        assertThat(after.getAvailableQuantity()).isZero();
+    }
+
+    @Test
+    void failedMultiLineReservationsRollBackUnderContention() throws Exception {
+        Stock plentiful = stockService.createStock(new Stock(null, "sku-plenty", 1000, 0, "A1"));
+        Stock scarce = stockService.createStock(new Stock(null, "sku-scarce", 30, 0, "A2"));
+
+        // Her istek iki ürünü birlikte ister; kıt ürün bitince bol ürünün rezervasyonu geri alınmalıdır
+        List<StockReservationResponseDTO> results = runConcurrently(200, () -> stockService.reserveStocks(List.of(
+                new StockReservationItemDTO("sku-plenty", 2),
+                new StockReservationItemDTO("sku-scarce", 1))));
+
+        long reserved = results.stream().filter(StockReservationResponseDTO::isReserved).count();
+        assertThat(reserved).isEqualTo(30);
+        assertThat(mongoTemplate.findById(scarce.getId(), Stock.class).getReservedQuantity()).isEqualTo(30);
+        assertThat(mongoTemplate.findById(plentiful.getId(), Stock.class).getReservedQuantity()).isEqualTo(60);
+    }
+
+    private static <T> List<T> runConcurrently(int calls, Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(calls);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
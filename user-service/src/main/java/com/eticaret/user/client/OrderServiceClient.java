@@ -1,11 +1,10 @@
 package com.eticaret.user.client;
 
-import com.eticaret.user.dto.OrderResponseDTO;
+import com.eticaret.user.dto.OrderPageDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(
     name = "order-service", 
@@ -15,6 +14,8 @@ import java.util.List;
 public interface OrderServiceClient {
     
     @GetMapping("/api/orders/user/{userId}")
-    List<OrderResponseDTO> getOrdersByUserId(@PathVariable Long userId);
+    OrderPageDTO getOrdersByUserId(@PathVariable Long userId,
+                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                   @RequestParam("size") int size);
 }
 
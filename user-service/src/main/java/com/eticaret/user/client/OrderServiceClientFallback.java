@@ -1,20 +1,17 @@
 package com.eticaret.user.client;
 
-import com.eticaret.user.dto.OrderResponseDTO;
+import com.eticaret.user.dto.OrderPageDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Slf4j
 @Component
 public class OrderServiceClientFallback implements OrderServiceClient {
     
     @Override
-    public List<OrderResponseDTO> getOrdersByUserId(Long userId) {
+    public OrderPageDTO getOrdersByUserId(Long userId, String cursor, int size) {
         log.error("Order Service çağrısı başarısız oldu - Fallback devreye girdi: userId={}", userId);
-        return new ArrayList<>(); // Boş liste döndür
+        return OrderPageDTO.empty(); // Boş sayfa döndür
     }
 }
 
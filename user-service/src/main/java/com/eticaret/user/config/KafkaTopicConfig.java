@@ -0,0 +1,23 @@
+package com.eticaret.user.config;
+
+import com.eticaret.user.producer.UserEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${user.kafka.topics.partitions:3}")
+    private int partitions;
+
+    @Value("${user.kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic userDeletedTopic() {
+        return TopicBuilder.name(UserEventProducer.USER_DELETED_TOPIC).partitions(partitions).replicas(replicas).build();
+    }
+}
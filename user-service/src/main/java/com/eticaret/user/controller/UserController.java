@@ -1,7 +1,7 @@
 package com.eticaret.user.controller;
 
 import com.eticaret.user.client.OrderServiceClient;
-import com.eticaret.user.dto.OrderResponseDTO;
+import com.eticaret.user.dto.OrderPageDTO;
 import com.eticaret.user.dto.UserRequestDTO;
 import com.eticaret.user.dto.UserResponseDTO;
 import com.eticaret.user.mapper.UserMapper;
@@ -140,41 +140,45 @@ public class UserController {
         }
     }
 
-    @Operation(summary = "Kullanıcının siparişlerini getir", description = "Belirtilen kullanıcıya ait tüm siparişleri getirir. Order Service kullanılamazsa boş liste döner.")
+    @Operation(summary = "Kullanıcının siparişlerini getir", description = "Belirtilen kullanıcıya ait siparişleri en yeniden eskiye doğru sayfa sayfa getirir. Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir. Order Service kullanılamazsa boş sayfa döner.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Sipariş listesi başarıyla getirildi (Order Service kullanılamazsa boş liste döner)"),
+        @ApiResponse(responseCode = "200", description = "Sipariş sayfası başarıyla getirildi (Order Service kullanılamazsa boş sayfa döner)"),
         @ApiResponse(responseCode = "404", description = "Kullanıcı bulunamadı")
     })
     @GetMapping("/{id}/orders")
-    public ResponseEntity<List<OrderResponseDTO>> getUserOrders(
+    public ResponseEntity<OrderPageDTO> getUserOrders(
             @Parameter(description = "Kullanıcı ID'si", required = true, example = "1")
-            @PathVariable Long id) {
-        log.info("GET /users/{}/orders - Kullanıcının siparişlerini getirme isteği alındı", id);
+            @PathVariable Long id,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /users/{}/orders - Kullanıcının siparişlerini getirme isteği alındı: cursor={}, size={}", id, cursor, size);
         try {
             // Önce kullanıcının var olup olmadığını kontrol et
             userService.getUserById(id);
             
             // Kullanıcının siparişlerini getir
-            List<OrderResponseDTO> orders = orderServiceClient.getOrdersByUserId(id);
-            if (orders == null) {
-                log.warn("GET /users/{}/orders - Order Service null döndü, boş liste döndürülüyor", id);
-                orders = new java.util.ArrayList<>();
+            OrderPageDTO orders = orderServiceClient.getOrdersByUserId(id, cursor, size);
+            if (orders == null || orders.getItems() == null) {
+                log.warn("GET /users/{}/orders - Order Service null döndü, boş sayfa döndürülüyor", id);
+                orders = OrderPageDTO.empty();
             }
-            log.info("GET /users/{}/orders - {} sipariş başarıyla getirildi", id, orders.size());
+            log.info("GET /users/{}/orders - {} sipariş başarıyla getirildi", id, orders.getItems().size());
             return ResponseEntity.ok(orders);
         } catch (Exception e) {
-            // Feign Client hataları veya bağlantı hataları için boş liste döndür
+            // Feign Client hataları veya bağlantı hataları için boş sayfa döndür
             String errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
             if (errorMessage.contains("Connection refused") || 
                 errorMessage.contains("Connection") || 
                 errorMessage.contains("Feign") ||
                 errorMessage.contains("timeout")) {
-                log.warn("GET /users/{}/orders - Order Service'e bağlanılamadı: {} - Boş liste döndürülüyor (Fallback)", id, errorMessage);
+                log.warn("GET /users/{}/orders - Order Service'e bağlanılamadı: {} - Boş sayfa döndürülüyor (Fallback)", id, errorMessage);
             } else {
-                log.error("GET /users/{}/orders - Siparişler getirilirken hata: {} - Boş liste döndürülüyor", id, errorMessage, e);
+                log.error("GET /users/{}/orders - Siparişler getirilirken hata: {} - Boş sayfa döndürülüyor", id, errorMessage, e);
             }
-            // Herhangi bir hata durumunda boş liste döndür (graceful degradation)
-            return ResponseEntity.ok(new java.util.ArrayList<>());
+            // Herhangi bir hata durumunda boş sayfa döndür (graceful degradation)
+            return ResponseEntity.ok(OrderPageDTO.empty());
         }
     }
 }
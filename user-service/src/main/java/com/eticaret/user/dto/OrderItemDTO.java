@@ -14,5 +14,6 @@ public class OrderItemDTO {
     private String productName;
     private Integer quantity;
     private BigDecimal price;
+    private BigDecimal lineTotal;
 }
 
@@ -0,0 +1,22 @@
+package com.eticaret.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+    private List<OrderResponseDTO> items;
+    // Sonraki sayfa için imleç; son sayfada null
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static OrderPageDTO empty() {
+        return new OrderPageDTO(new ArrayList<>(), null, false);
+    }
+}
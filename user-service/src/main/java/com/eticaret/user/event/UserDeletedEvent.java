@@ -0,0 +1,14 @@
+package com.eticaret.user.event;
+
+// user-deleted olayı (v1); Order Service kullanıcı doğrulama önbelleğini bu olayla temizler
+public record UserDeletedEvent(
+        int version,
+        Long userId,
+        long occurredAt) {
+
+    public static final int VERSION = 1;
+
+    public static UserDeletedEvent of(Long userId) {
+        return new UserDeletedEvent(VERSION, userId, System.currentTimeMillis());
+    }
+}
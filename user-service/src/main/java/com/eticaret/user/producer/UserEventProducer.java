@@ -0,0 +1,27 @@
+package com.eticaret.user.producer;
+
+import com.eticaret.user.event.UserDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEventProducer {
+
+    public static final String USER_DELETED_TOPIC = "user-deleted";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // Gönderim asenkron; hata silme işlemini geri almaz (Order Service önbelleği TTL ile de temizlenir)
+    public void sendUserDeleted(Long userId) {
+        log.debug("user-deleted olayı gönderiliyor: userId={}", userId);
+        kafkaTemplate.send(USER_DELETED_TOPIC, String.valueOf(userId), UserDeletedEvent.of(userId)).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("user-deleted olayı gönderilemedi: userId={}, error={}", userId, e.getMessage());
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.eticaret.user.service;
 import com.eticaret.user.exception.DuplicateResourceException;
 import com.eticaret.user.exception.ResourceNotFoundException;
 import com.eticaret.user.model.User;
+import com.eticaret.user.producer.UserEventProducer;
 import com.eticaret.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ public class UserServiceImpl implements IUserService {
     
     private final UserRepository userRepository;
     private final SequenceService sequenceService;
+    private final UserEventProducer userEventProducer;
 
     @Override
     public User createUser(User user) {
@@ -134,5 +136,6 @@ public class UserServiceImpl implements IUserService {
         }
         userRepository.deleteById(id);
         log.info("Kullanıcı başarıyla silindi: id={}", id);
+        userEventProducer.sendUserDeleted(id);
     }
 }
@@ -0,0 +1,83 @@
+package com.eticaret.user.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// İki instance (ayrı SequenceService) aynı sayaçtan eşzamanlı ID aldığında çakışma olmadığını doğrular
+class SequenceServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 2_000;
+
+    private MongoServer server;
+    private MongoClient client;
+    private SequenceService first;
+    private SequenceService second;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "sequence-test");
+        // Küçük blok: segment değişimleri ve önceden kiralama sık tetiklenir
+        first = new SequenceService(mongoTemplate, 16);
+        second = new SequenceService(mongoTemplate, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.shutdown();
+        second.shutdown();
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void idsAreUniqueAcrossInstances() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                SequenceService allocator = t % 2 == 0 ? first : second;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int duplicates = 0;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        if (!ids.add(allocator.getNextSequence("test_sequence"))) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+        assertThat(ids).allMatch(id -> id > 0);
+    }
+}